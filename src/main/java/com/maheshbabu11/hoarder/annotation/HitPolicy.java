@@ -0,0 +1,12 @@
+package com.maheshbabu11.hoarder.annotation;
+
+public enum HitPolicy {
+  // Use the policy configured under hoarder.cache.hit-policy
+  DEFAULT,
+  // Return the cached instance itself
+  SHARE,
+  // Return a deep copy of the loaded graph on every cache hit
+  COPY,
+  // Return a deep copy whose collections are unmodifiable, so changes never reach the cache
+  READ_ONLY
+}
@@ -5,4 +5,12 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Inherited
-public @interface Hoarded {}
+public @interface Hoarded {
+
+  // Record whose components are loaded and cached instead of the full entity
+  Class<?> projection() default void.class;
+
+  HitPolicy hitPolicy() default HitPolicy.DEFAULT;
+
+  LoadMode loadMode() default LoadMode.EAGER;
+}
@@ -7,4 +7,14 @@ import java.lang.annotation.Target;
 
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
-public @interface HoardedColumn {}
+public @interface HoardedColumn {
+
+  IndexType index() default IndexType.HASH;
+
+  // Also index String values case-folded, for IgnoreCase and case-insensitive prefix lookups
+  boolean ignoreCase() default false;
+
+  // Property below the annotated field to index by, e.g. "email" on a customer association.
+  // Empty on a to-one association indexes by the associated entity's ID.
+  String path() default "";
+}
@@ -0,0 +1,20 @@
+package com.maheshbabu11.hoarder.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Caches the results of a repository method by its arguments until one of the hoarded entities
+// it reads is written, refreshed or cleared
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HoardedQuery {
+
+  // Hoarded entities read by the query, in addition to the repository's entity and the hoarded
+  // entity names found in its @Query
+  Class<?>[] entities() default {};
+
+  // Also expires results after this many seconds, for queries that read non-hoarded tables
+  long ttlSeconds() default 0;
+}
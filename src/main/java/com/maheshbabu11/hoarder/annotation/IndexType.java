@@ -0,0 +1,8 @@
+package com.maheshbabu11.hoarder.annotation;
+
+public enum IndexType {
+  // Exact-match lookups only (findBy{Column}, findAllBy{Column})
+  HASH,
+  // Exact-match lookups plus range, top-N and ordered queries
+  SORTED
+}
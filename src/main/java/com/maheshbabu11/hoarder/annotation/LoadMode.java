@@ -0,0 +1,12 @@
+package com.maheshbabu11.hoarder.annotation;
+
+public enum LoadMode {
+  // Load the whole table at startup
+  EAGER,
+  // Load nothing up front, the cache fills from database results of intercepted calls
+  LAZY,
+  // Load the whole table in the background on the first intercepted call
+  ON_FIRST_ACCESS_FULL,
+  // Load only the keys accessed most during previous runs, then fill from misses
+  HOT_SET
+}
@@ -0,0 +1,183 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.AsyncQueryExecutor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.SourceLocation;
+import org.aspectj.runtime.internal.AroundClosure;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// Join point of an async repository method as seen by the synchronous interceptors. Proceeding
+// hands the database query to the executor and yields a future of its unwrapped result, or runs
+// it right away when the call is already on an @Async thread or inside a transaction.
+final class DeferringJoinPoint implements ProceedingJoinPoint {
+
+  private final ProceedingJoinPoint delegate;
+  private final AsyncQueryExecutor executor;
+
+  DeferringJoinPoint(ProceedingJoinPoint delegate, AsyncQueryExecutor executor) {
+    this.delegate = delegate;
+    this.executor = executor;
+  }
+
+  @Override
+  public Object proceed() throws Throwable {
+    if (executor == null) {
+      return unwrap(delegate.proceed());
+    }
+    MethodInvocation invocation = ExposeInvocationInterceptor.currentInvocation();
+    return executor.submit(() -> unwrap(proceedExposing(invocation, delegate::proceed)));
+  }
+
+  @Override
+  public Object proceed(Object[] args) throws Throwable {
+    if (executor == null) {
+      return unwrap(delegate.proceed(args));
+    }
+    MethodInvocation invocation = ExposeInvocationInterceptor.currentInvocation();
+    return executor.submit(() -> unwrap(proceedExposing(invocation, () -> delegate.proceed(args))));
+  }
+
+  // Advice further down the chain looks up the current invocation, which Spring binds to the
+  // calling thread only, so it is exposed again on the executor thread
+  private static Object proceedExposing(MethodInvocation invocation, AsyncQueryExecutor.Query query)
+      throws Throwable {
+    return ExposeInvocationInterceptor.INSTANCE.invoke(
+        new ExposedInvocation((ProxyMethodInvocation) invocation, query));
+  }
+
+  // Spring Data completes the future of a method without @Async before returning it
+  private static Object unwrap(Object result) throws Throwable {
+    if (!(result instanceof Future<?> future)) {
+      return result;
+    }
+    try {
+      return future.get();
+    } catch (ExecutionException | CompletionException e) {
+      throw e.getCause() != null ? e.getCause() : e;
+    }
+  }
+
+  @Override
+  public void set$AroundClosure(AroundClosure arc) {
+    delegate.set$AroundClosure(arc);
+  }
+
+  @Override
+  public String toShortString() {
+    return delegate.toShortString();
+  }
+
+  @Override
+  public String toLongString() {
+    return delegate.toLongString();
+  }
+
+  @Override
+  public Object getThis() {
+    return delegate.getThis();
+  }
+
+  @Override
+  public Object getTarget() {
+    return delegate.getTarget();
+  }
+
+  @Override
+  public Object[] getArgs() {
+    return delegate.getArgs();
+  }
+
+  @Override
+  public Signature getSignature() {
+    return delegate.getSignature();
+  }
+
+  @Override
+  public SourceLocation getSourceLocation() {
+    return delegate.getSourceLocation();
+  }
+
+  @Override
+  public String getKind() {
+    return delegate.getKind();
+  }
+
+  @Override
+  public StaticPart getStaticPart() {
+    return delegate.getStaticPart();
+  }
+
+  @Override
+  public String toString() {
+    return delegate.toString();
+  }
+
+  // The caller's invocation, whose proceed() runs the deferred query instead
+  private record ExposedInvocation(ProxyMethodInvocation invocation, AsyncQueryExecutor.Query query)
+      implements ProxyMethodInvocation {
+
+    @Override
+    public Object proceed() throws Throwable {
+      return query.run();
+    }
+
+    @Override
+    public Object getProxy() {
+      return invocation.getProxy();
+    }
+
+    @Override
+    public MethodInvocation invocableClone() {
+      return invocation.invocableClone();
+    }
+
+    @Override
+    public MethodInvocation invocableClone(Object... arguments) {
+      return invocation.invocableClone(arguments);
+    }
+
+    @Override
+    public void setArguments(Object... arguments) {
+      invocation.setArguments(arguments);
+    }
+
+    @Override
+    public void setUserAttribute(String key, Object value) {
+      invocation.setUserAttribute(key, value);
+    }
+
+    @Override
+    public Object getUserAttribute(String key) {
+      return invocation.getUserAttribute(key);
+    }
+
+    @Override
+    public Method getMethod() {
+      return invocation.getMethod();
+    }
+
+    @Override
+    public Object[] getArguments() {
+      return invocation.getArguments();
+    }
+
+    @Override
+    public Object getThis() {
+      return invocation.getThis();
+    }
+
+    @Override
+    public AccessibleObject getStaticPart() {
+      return invocation.getStaticPart();
+    }
+  }
+}
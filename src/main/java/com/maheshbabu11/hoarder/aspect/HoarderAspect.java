@@ -1,42 +1,137 @@
 package com.maheshbabu11.hoarder.aspect;
 
-import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.annotation.HitPolicy;
+import com.maheshbabu11.hoarder.annotation.HoardedQuery;
 import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.core.AdaptiveHoarder;
+import com.maheshbabu11.hoarder.core.AsyncQueryExecutor;
+import com.maheshbabu11.hoarder.core.CriteriaEvaluator;
+import com.maheshbabu11.hoarder.core.HoardedEntityRegistry;
 import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HotSetTracker;
+import com.maheshbabu11.hoarder.core.QueryResultCache;
+import com.maheshbabu11.hoarder.core.TraceRecorder;
+import com.maheshbabu11.hoarder.util.EntityComparators;
+import com.maheshbabu11.hoarder.util.EntityCopier;
 import com.maheshbabu11.hoarder.util.HoarderLogger;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.metamodel.EntityType;
+import com.maheshbabu11.hoarder.util.PropertyAccessors;
+import jakarta.persistence.Entity;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Aspect
 @Component
 public class HoarderAspect {
 
-  private final EntityManager entityManager;
+  // Returned by adaptResult when a cached result cannot be shaped into the method's return type
+  private static final Object UNSUPPORTED_RESULT = new Object();
+  private static final Set<Part.Type> RANGE_TYPES =
+      EnumSet.of(
+          Part.Type.BETWEEN,
+          Part.Type.GREATER_THAN,
+          Part.Type.GREATER_THAN_EQUAL,
+          Part.Type.LESS_THAN,
+          Part.Type.LESS_THAN_EQUAL,
+          Part.Type.AFTER,
+          Part.Type.BEFORE);
+  private static final Set<Part.Type> PATTERN_TYPES =
+      EnumSet.of(Part.Type.STARTING_WITH, Part.Type.ENDING_WITH, Part.Type.CONTAINING);
+  private static final Set<String> CRITERIA_METHODS =
+      Set.of("findAll", "findOne", "count", "exists");
+  // Repository deletes whose argument names the removed rows, by ID or as entities
+  private static final Set<String> ROW_DELETES =
+      Set.of(
+          "deleteById",
+          "deleteAllById",
+          "deleteAllByIdInBatch",
+          "delete",
+          "deleteAll",
+          "deleteAllInBatch",
+          "deleteInBatch");
+
+  private final HoardedEntityRegistry hoardedEntityRegistry;
   private final Map<String, Class<?>> hoardedEntityCache = new ConcurrentHashMap<>();
+  private final Map<Method, Optional<PartTree>> partTreeCache = new ConcurrentHashMap<>();
+  private final Map<Method, Optional<Class<?>>> elementTypeCache = new ConcurrentHashMap<>();
+  private final Map<Method, Class<?>[]> queryEntitiesCache = new ConcurrentHashMap<>();
+  private final Map<Class<?>, String> entityNameCache = new ConcurrentHashMap<>();
+  private final Map<Method, Boolean> asyncMethodCache = new ConcurrentHashMap<>();
   private final HoarderProperties hoarderProperties;
   private final HoarderLogger hoarderLogger;
   private final HoarderCache hoarderCache;
+  private final HotSetTracker hotSetTracker;
+  private final TraceRecorder traceRecorder;
+  private final CriteriaEvaluator criteriaEvaluator;
+  private final QueryResultCache queryResultCache;
+  private final AsyncQueryExecutor asyncQueryExecutor;
+  private final AdaptiveHoarder adaptiveHoarder;
 
   public HoarderAspect(
-      EntityManager entityManager,
+      HoardedEntityRegistry hoardedEntityRegistry,
       HoarderProperties hoarderProperties,
       HoarderLogger hoarderLogger,
-      HoarderCache hoarderCache) {
-    this.entityManager = entityManager;
+      HoarderCache hoarderCache,
+      HotSetTracker hotSetTracker,
+      TraceRecorder traceRecorder,
+      CriteriaEvaluator criteriaEvaluator,
+      QueryResultCache queryResultCache,
+      AsyncQueryExecutor asyncQueryExecutor,
+      AdaptiveHoarder adaptiveHoarder) {
+    this.hoardedEntityRegistry = hoardedEntityRegistry;
     this.hoarderProperties = hoarderProperties;
     this.hoarderLogger = hoarderLogger;
     this.hoarderCache = hoarderCache;
+    this.hotSetTracker = hotSetTracker;
+    this.traceRecorder = traceRecorder;
+    this.criteriaEvaluator = criteriaEvaluator;
+    this.queryResultCache = queryResultCache;
+    this.asyncQueryExecutor = asyncQueryExecutor;
+    this.adaptiveHoarder = adaptiveHoarder;
     initializeHoardedEntityCache();
   }
 
@@ -46,18 +141,12 @@ public class HoarderAspect {
           HoarderAspect.class, "Hoarder cache is disabled, skipping initialization.");
       return;
     }
-    Set<EntityType<?>> entityTypes = entityManager.getMetamodel().getEntities();
-
-    for (EntityType<?> entityType : entityTypes) {
-      Class<?> javaType = entityType.getJavaType();
-
-      if (javaType.isAnnotationPresent(Hoarded.class)) {
-        hoardedEntityCache.put(javaType.getSimpleName(), javaType);
-        hoarderLogger.info(
-            HoarderAspect.class,
-            "Registered hoarded entity for aspect: {}",
-            javaType.getSimpleName());
-      }
+    for (Class<?> javaType : hoardedEntityRegistry.getHoardedEntities()) {
+      hoardedEntityCache.put(javaType.getSimpleName(), javaType);
+      hoarderLogger.info(
+          HoarderAspect.class,
+          "Registered hoarded entity for aspect: {}",
+          javaType.getSimpleName());
     }
     hoarderLogger.info(
         HoarderAspect.class, "Initialized {} hoarded entities", hoardedEntityCache.size());
@@ -68,13 +157,16 @@ public class HoarderAspect {
     if (!hoarderProperties.getCache().isEnabled()) {
       return pjp.proceed();
     }
+    if (isDeferrable(pjp)) {
+      return interceptAsync(pjp, this::interceptFindById);
+    }
     Object[] args = pjp.getArgs();
     Object target = pjp.getTarget();
     String entityClassName = getEntityClassName(target);
     hoarderLogger.debug(
         HoarderAspect.class, "Intercepted findById call for entity class: {}", entityClassName);
 
-    Class<?> entityClass = hoardedEntityCache.get(entityClassName);
+    Class<?> entityClass = getHoardedEntity(entityClassName);
     if (entityClass == null) {
       hoarderLogger.debug(
           HoarderAspect.class, "No hoarded entity found for class: {}", entityClassName);
@@ -84,12 +176,18 @@ public class HoarderAspect {
     hoarderLogger.debug(
         HoarderAspect.class, "Found hoarded entity class: {}", entityClass.getName());
 
+    if (!returnsCachedType(((MethodSignature) pjp.getSignature()).getMethod(), entityClass)) {
+      return pjp.proceed();
+    }
+
     Object id = args[0];
+    hotSetTracker.recordAccess(entityClass, id);
     Optional<?> cached = hoarderCache.get(entityClass, id);
+    traceRecorder.record(entityClass, "id", id, cached.isPresent());
     if (cached.isPresent()) {
       hoarderLogger.debug(
           HoarderAspect.class, "Returning cached entity for {} with id: {}", entityClassName, id);
-      return cached;
+      return cached.map(entity -> toHit(entityClass, entity));
     }
 
     hoarderLogger.debug(
@@ -97,25 +195,27 @@ public class HoarderAspect {
         "No cached entity found, executing database query for {} with id: {}",
         entityClassName,
         id);
-    Object result = pjp.proceed();
-
-    if (result instanceof Optional<?> opt && opt.isPresent()) {
-      hoarderCache.put(entityClass, id, opt.get());
-      hoarderLogger.debug(
-          HoarderAspect.class, "Cached entity for {} with id: {}", entityClassName, id);
-    }
-
-    return result;
+    return afterLoad(
+        pjp.proceed(),
+        result -> {
+          if (result instanceof Optional<?> opt && opt.isPresent()) {
+            hoarderCache.put(entityClass, id, opt.get());
+            hoarderLogger.debug(
+                HoarderAspect.class, "Cached entity for {} with id: {}", entityClassName, id);
+          }
+        });
   }
 
-  @Around("execution(* org.springframework.data.repository.Repository+.findBy*(..))")
+  @Around("execution(* org.springframework.data.repository.Repository+.find*By*(..))")
   public Object interceptFindByColumn(ProceedingJoinPoint pjp) throws Throwable {
     if (!hoarderProperties.getCache().isEnabled()) {
       return pjp.proceed();
     }
+    if (isDeferrable(pjp)) {
+      return interceptAsync(pjp, this::interceptFindByColumn);
+    }
 
     String methodName = pjp.getSignature().getName();
-    Object[] args = pjp.getArgs();
     Object target = pjp.getTarget();
     String entityClassName = getEntityClassName(target);
 
@@ -124,22 +224,450 @@ public class HoarderAspect {
       return pjp.proceed();
     }
 
-    Class<?> entityClass = hoardedEntityCache.get(entityClassName);
+    Class<?> entityClass = getHoardedEntity(entityClassName);
     if (entityClass == null) {
       hoarderLogger.debug(
           HoarderAspect.class, "No hoarded entity found for class: {}", entityClassName);
       return pjp.proceed();
     }
 
-    // Extract column name from method name
-    String columnName = extractColumnName(methodName);
-    if (columnName == null || args.length == 0) {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    if (!returnsCachedType(method, entityClass)) {
+      hoarderLogger.debug(
+          HoarderAspect.class,
+          "Return type of {} does not match cached type {}",
+          methodName,
+          hoarderCache.getCachedType(entityClass).getSimpleName());
+      return pjp.proceed();
+    }
+
+    PartTree partTree = getPartTree(method, entityClass);
+    Optional<QueryOptions> options =
+        partTree != null ? resolveQueryOptions(partTree, pjp.getArgs()) : Optional.empty();
+    if (options.isEmpty()
+        || partTree.isDistinct()
+        || partTree.stream().count() > 1
+        || hasUnsupportedParameter(method)) {
+      hoarderLogger.debug(
+          HoarderAspect.class, "Cannot derive a cacheable query from method: {}", methodName);
+      return pjp.proceed();
+    }
+
+    List<Part> parts = partTree.getParts().toList();
+    if (parts.isEmpty()) {
+      return serveAllEntities(pjp, entityClass, options.get());
+    }
+    if (parts.size() > 1) {
+      hoarderLogger.debug(
+          HoarderAspect.class, "Query of method {} is not served from cache", methodName);
+      return pjp.proceed();
+    }
+
+    Part part = parts.get(0);
+    boolean ignoreCase = part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+    if (part.getType() == Part.Type.SIMPLE_PROPERTY) {
+      String columnName = part.getProperty().toDotPath();
+      if (options.get().isPlain()) {
+        return ignoreCase
+            ? interceptIgnoreCaseQuery(pjp, entityClass, columnName)
+            : interceptEqualityQuery(pjp, entityClass, columnName);
+      }
+      return interceptPagedEqualityQuery(pjp, entityClass, columnName, ignoreCase, options.get());
+    }
+    if (PATTERN_TYPES.contains(part.getType())) {
+      return interceptPatternQuery(pjp, entityClass, part, ignoreCase, options.get());
+    }
+    if (RANGE_TYPES.contains(part.getType()) && !ignoreCase) {
+      return interceptRangeQuery(pjp, entityClass, part, options.get());
+    }
+
+    hoarderLogger.debug(
+        HoarderAspect.class, "Query of method {} is not served from cache", methodName);
+    return pjp.proceed();
+  }
+
+  @Around("execution(* org.springframework.data.repository.Repository+.findAll(..))")
+  public Object interceptFindAll(ProceedingJoinPoint pjp) throws Throwable {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return pjp.proceed();
+    }
+    if (isDeferrable(pjp)) {
+      return interceptAsync(pjp, this::interceptFindAll);
+    }
+
+    // Only the paging and sorting variants are answered here
+    Object[] args = pjp.getArgs();
+    if (args.length != 1 || !(args[0] instanceof Pageable || args[0] instanceof Sort)) {
+      return pjp.proceed();
+    }
+
+    String entityClassName = getEntityClassName(pjp.getTarget());
+    Class<?> entityClass = getHoardedEntity(entityClassName);
+    if (entityClass == null
+        || !returnsCachedType(((MethodSignature) pjp.getSignature()).getMethod(), entityClass)) {
+      hoarderLogger.debug(
+          HoarderAspect.class, "No hoarded entity found for class: {}", entityClassName);
+      return pjp.proceed();
+    }
+
+    QueryOptions options =
+        args[0] instanceof Pageable pageable
+            ? new QueryOptions(pageable.getSort(), pageable, Integer.MAX_VALUE)
+            : new QueryOptions((Sort) args[0], null, Integer.MAX_VALUE);
+    return serveAllEntities(pjp, entityClass, options);
+  }
+
+  @Around("execution(* org.springframework.data.repository.Repository+.existsById(..))")
+  public Object interceptExistsById(ProceedingJoinPoint pjp) throws Throwable {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return pjp.proceed();
+    }
+    if (isDeferrable(pjp)) {
+      return interceptAsync(pjp, this::interceptExistsById);
+    }
+
+    Class<?> entityClass = getHoardedEntity(getEntityClassName(pjp.getTarget()));
+    if (entityClass == null) {
+      return pjp.proceed();
+    }
+
+    Object id = pjp.getArgs()[0];
+    hotSetTracker.recordAccess(entityClass, id);
+    boolean cached = hoarderCache.get(entityClass, id).isPresent();
+    traceRecorder.record(entityClass, "id", id, cached);
+    if (cached) {
       hoarderLogger.debug(
-          HoarderAspect.class, "Cannot extract column name from method: {}", methodName);
+          HoarderAspect.class,
+          "Answering existsById from cache for {} with id: {}",
+          entityClass.getSimpleName(),
+          id);
+      return true;
+    }
+    // A missing id only proves absence once every row was preloaded into the ID map
+    if (hasCompleteIdMap(entityClass)) {
+      return false;
+    }
+    return pjp.proceed();
+  }
+
+  @Around("execution(long org.springframework.data.repository.Repository+.count())")
+  public Object interceptCount(ProceedingJoinPoint pjp) throws Throwable {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return pjp.proceed();
+    }
+
+    Class<?> entityClass = getHoardedEntity(getEntityClassName(pjp.getTarget()));
+    if (entityClass == null || !hasCompleteIdMap(entityClass)) {
       return pjp.proceed();
     }
 
-    Object columnValue = args[0];
+    hoarderLogger.debug(
+        HoarderAspect.class, "Answering count from cache for {}", entityClass.getSimpleName());
+    return (long) hoarderCache.size(entityClass);
+  }
+
+  @Around(
+      "execution(* org.springframework.data.repository.Repository+.countBy*(..))"
+          + " || execution(* org.springframework.data.repository.Repository+.existsBy*(..))")
+  public Object interceptCountOrExistsBy(ProceedingJoinPoint pjp) throws Throwable {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return pjp.proceed();
+    }
+    if (isDeferrable(pjp)) {
+      return interceptAsync(pjp, this::interceptCountOrExistsBy);
+    }
+
+    // Skip existsById as it's handled by another interceptor
+    String methodName = pjp.getSignature().getName();
+    if ("existsById".equals(methodName)) {
+      return pjp.proceed();
+    }
+
+    Class<?> entityClass = getHoardedEntity(getEntityClassName(pjp.getTarget()));
+    if (entityClass == null) {
+      return pjp.proceed();
+    }
+
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    PartTree partTree = getPartTree(method, entityClass);
+    if (partTree == null
+        || partTree.isDistinct()
+        || partTree.isLimiting()
+        || partTree.stream().count() != 1
+        || partTree.getParts().stream().count() != 1
+        || hasUnsupportedParameter(method)
+        || Arrays.stream(pjp.getArgs()).anyMatch(arg -> arg instanceof Sort)) {
+      hoarderLogger.debug(
+          HoarderAspect.class, "Cannot derive a cacheable query from method: {}", methodName);
+      return pjp.proceed();
+    }
+
+    boolean exists = partTree.isExistsProjection();
+    Part part = partTree.getParts().iterator().next();
+    OptionalLong matches = countMatches(entityClass, part, pjp.getArgs(), exists);
+    if (matches.isEmpty()) {
+      return pjp.proceed();
+    }
+
+    // Indexes may miss rows that were never loaded, so only a match is conclusive before then
+    Object result = UNSUPPORTED_RESULT;
+    if (hoarderCache.isFullyLoaded(entityClass)) {
+      result = adaptCountResult(method, exists, matches.getAsLong());
+    } else if (exists && matches.getAsLong() > 0) {
+      result = adaptCountResult(method, true, matches.getAsLong());
+    }
+    if (result == UNSUPPORTED_RESULT) {
+      return pjp.proceed();
+    }
+
+    hoarderLogger.debug(
+        HoarderAspect.class, "Answering {} from cache with: {}", methodName, result);
+    return result;
+  }
+
+  @Around(
+      "execution(* org.springframework.data.jpa.repository.JpaSpecificationExecutor+.*("
+          + "org.springframework.data.jpa.domain.Specification, ..))")
+  public Object interceptSpecification(ProceedingJoinPoint pjp) throws Throwable {
+    Specification<?> specification = (Specification<?>) pjp.getArgs()[0];
+    return interceptCriteriaQuery(
+        pjp, entityClass -> criteriaEvaluator.findAll(entityClass, specification));
+  }
+
+  @Around(
+      "execution(* org.springframework.data.repository.query.QueryByExampleExecutor+.*("
+          + "org.springframework.data.domain.Example, ..))")
+  public Object interceptExample(ProceedingJoinPoint pjp) throws Throwable {
+    Example<?> example = (Example<?>) pjp.getArgs()[0];
+    if (example == null) {
+      return pjp.proceed();
+    }
+    return interceptCriteriaQuery(
+        pjp, entityClass -> criteriaEvaluator.findAll(entityClass, example));
+  }
+
+  private Object interceptCriteriaQuery(
+      ProceedingJoinPoint pjp, Function<Class<?>, Optional<List<Object>>> evaluation)
+      throws Throwable {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return pjp.proceed();
+    }
+    if (isDeferrable(pjp)) {
+      return interceptAsync(pjp, jp -> interceptCriteriaQuery(jp, evaluation));
+    }
+
+    // findBy with a query function and delete are left to the database
+    String methodName = pjp.getSignature().getName();
+    if (!CRITERIA_METHODS.contains(methodName)) {
+      return pjp.proceed();
+    }
+
+    Class<?> entityClass = getHoardedEntity(getEntityClassName(pjp.getTarget()));
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    if (entityClass == null
+        || !hoarderCache.isFullyLoaded(entityClass)
+        || (methodName.startsWith("find") && !returnsCachedType(method, entityClass))) {
+      return pjp.proceed();
+    }
+
+    Optional<List<Object>> matches = evaluation.apply(entityClass);
+    if (matches.isEmpty()) {
+      hoarderLogger.debug(HoarderAspect.class, "Answering {} from the database", methodName);
+      return pjp.proceed();
+    }
+
+    List<Object> results = matches.get();
+    if ("count".equals(methodName)) {
+      return (long) results.size();
+    }
+    if ("exists".equals(methodName)) {
+      return !results.isEmpty();
+    }
+
+    Object[] args = pjp.getArgs();
+    QueryOptions options = new QueryOptions(Sort.unsorted(), null, Integer.MAX_VALUE);
+    if (args.length > 1 && args[1] instanceof Pageable pageable) {
+      options = new QueryOptions(pageable.getSort(), pageable, Integer.MAX_VALUE);
+    } else if (args.length > 1 && args[1] instanceof Sort sort) {
+      options = new QueryOptions(sort, null, Integer.MAX_VALUE);
+    }
+    return serveResults(pjp, entityClass, results, false, options);
+  }
+
+  @Around("@annotation(hoardedQuery)")
+  public Object interceptHoardedQuery(ProceedingJoinPoint pjp, HoardedQuery hoardedQuery)
+      throws Throwable {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return pjp.proceed();
+    }
+
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    Class<?> returnType = method.getReturnType();
+    // Single-use and asynchronous results cannot be handed out twice
+    if (void.class.equals(returnType)
+        || Stream.class.isAssignableFrom(returnType)
+        || Iterator.class.isAssignableFrom(returnType)
+        || Future.class.isAssignableFrom(returnType)
+        || CompletionStage.class.isAssignableFrom(returnType)) {
+      return pjp.proceed();
+    }
+
+    Class<?>[] entities = getQueryEntities(method, hoardedQuery, pjp.getTarget());
+    if (entities.length == 0) {
+      return pjp.proceed();
+    }
+    return queryResultCache.getOrLoad(
+        method, pjp.getArgs(), entities, hoardedQuery.ttlSeconds(), pjp::proceed);
+  }
+
+  @After(
+      "execution(* org.springframework.data.repository.Repository+.save*(..))"
+          + " || execution(* org.springframework.data.repository.Repository+.delete*(..))"
+          + " || @annotation(org.springframework.data.jpa.repository.Modifying)")
+  public void recordRepositoryWrite(JoinPoint jp) {
+    if (!hoarderProperties.getCache().isEnabled()) {
+      return;
+    }
+    String entityClassName = getEntityClassName(jp.getTarget());
+    adaptiveHoarder.recordWrite(entityClassName);
+    // Promoted entities stop being served until they are reloaded after the write
+    Class<?> entityClass =
+        hoardedEntityCache.containsKey(entityClassName)
+            ? hoardedEntityCache.get(entityClassName)
+            : adaptiveHoarder.getPromotedEntity(entityClassName);
+    if (entityClass == null) {
+      return;
+    }
+
+    hoarderCache.recordWrite(entityClass);
+    evictDeletedRows(jp, entityClass);
+    // Results cached by other transactions before this one commits would miss the write
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              hoarderCache.recordWrite(entityClass);
+            }
+          });
+    }
+  }
+
+  // Cached rows of deleted entities would still answer findById and existsById. Deletes that do
+  // not name their rows, derived deleteBy finders and @Modifying queries clear the entity.
+  private void evictDeletedRows(JoinPoint jp, Class<?> entityClass) {
+    String methodName = jp.getSignature().getName();
+    boolean modifying =
+        AnnotatedElementUtils.hasAnnotation(
+            ((MethodSignature) jp.getSignature()).getMethod(), Modifying.class);
+    if (!methodName.startsWith("delete") && !modifying) {
+      return;
+    }
+
+    Object[] args = jp.getArgs();
+    if (modifying || !ROW_DELETES.contains(methodName) || args.length != 1) {
+      hoarderCache.clearForEntity(entityClass);
+      return;
+    }
+    Iterable<?> deleted = args[0] instanceof Iterable<?> iterable ? iterable : List.of(args[0]);
+    String idProperty = hoarderCache.getIdProperty(entityClass).orElse(null);
+    for (Object value : deleted) {
+      if (!entityClass.isInstance(value)) {
+        hoarderCache.evict(entityClass, value);
+      } else if (idProperty != null) {
+        hoarderCache.evict(entityClass, PropertyAccessors.getValue(value, idProperty));
+      } else {
+        hoarderCache.clearForEntity(entityClass);
+        return;
+      }
+    }
+  }
+
+  // Read traffic of every repository, hoarded or not, for adaptive promotion
+  @Before(
+      "execution(* org.springframework.data.repository.Repository+.find*(..))"
+          + " || execution(* org.springframework.data.repository.Repository+.count*(..))"
+          + " || execution(* org.springframework.data.repository.Repository+.exists*(..))")
+  public void recordRepositoryRead(JoinPoint jp) {
+    if (adaptiveHoarder.isEnabled() && hoarderProperties.getCache().isEnabled()) {
+      adaptiveHoarder.recordRead(getEntityClassName(jp.getTarget()));
+    }
+  }
+
+  // Async repository methods of hoarded entities, unless Hoarder is already behind the proxy
+  private boolean isDeferrable(ProceedingJoinPoint pjp) {
+    return !(pjp instanceof DeferringJoinPoint)
+        && isFutureType(((MethodSignature) pjp.getSignature()).getMethod().getReturnType())
+        && getHoardedEntity(getEntityClassName(pjp.getTarget())) != null;
+  }
+
+  // Runs the synchronous interceptor on the calling thread, so a hit completes the future right
+  // away and only the database query of a miss moves to the executor
+  private Object interceptAsync(ProceedingJoinPoint pjp, Interception interception)
+      throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    // @Async already moved the call, hit or miss, to another thread: Spring puts its advisor in
+    // front of every other one, so misses can run in place. Inside a transaction they run in
+    // place as well, since the executor sees neither it nor its session.
+    boolean runInPlace =
+        asyncMethodCache.computeIfAbsent(method, this::isAsyncMethod)
+            || TransactionSynchronizationManager.isActualTransactionActive();
+    Object result =
+        interception.intercept(new DeferringJoinPoint(pjp, runInPlace ? null : asyncQueryExecutor));
+    return result instanceof CompletableFuture<?>
+        ? result
+        : CompletableFuture.completedFuture(result);
+  }
+
+  private boolean isAsyncMethod(Method method) {
+    return AnnotatedElementUtils.hasAnnotation(method, Async.class)
+        || AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), Async.class);
+  }
+
+  // Deferred database results are cached once the executor completes them
+  private static Object afterLoad(Object result, Consumer<Object> action) {
+    if (result instanceof CompletableFuture<?> future) {
+      return future.thenApply(
+          loaded -> {
+            action.accept(loaded);
+            return loaded;
+          });
+    }
+    action.accept(result);
+    return result;
+  }
+
+  private Object interceptEqualityQuery(
+      ProceedingJoinPoint pjp, Class<?> entityClass, String columnName) throws Throwable {
+    String methodName = pjp.getSignature().getName();
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    String entityClassName = entityClass.getSimpleName();
+    Object columnValue = pjp.getArgs()[0];
+
+    // Several values, e.g. findAllById(Iterable), are an IN query and are not looked up as one key
+    if (columnValue instanceof Iterable<?> || columnValue instanceof Object[]) {
+      return pjp.proceed();
+    }
+
+    // Finders on the primary key property are answered from the ID map
+    if (columnName.equals(hoarderCache.getIdProperty(entityClass).orElse(null))) {
+      hotSetTracker.recordAccess(entityClass, columnValue);
+      Optional<?> cached = hoarderCache.get(entityClass, columnValue);
+      Object result =
+          cached.isPresent()
+              ? adaptResult(method, entityClass, List.of(cached.get()))
+              : UNSUPPORTED_RESULT;
+      traceRecorder.record(entityClass, "id", columnValue, result != UNSUPPORTED_RESULT);
+      if (result != UNSUPPORTED_RESULT) {
+        hoarderLogger.debug(
+            HoarderAspect.class,
+            "Returning cached entity for {} with id: {}",
+            entityClassName,
+            columnValue);
+        return result;
+      }
+      return pjp.proceed();
+    }
 
     // Check if this column is cached
     if (!hoarderCache.isColumnCached(entityClass, columnName)) {
@@ -155,29 +683,38 @@ public class HoarderAspect {
         entityClassName,
         columnValue);
 
-    if (methodName.startsWith("findAllBy")) {
-      List<?> cached = hoarderCache.getAllByColumn(entityClass, columnName, columnValue);
-      if (!cached.isEmpty()) {
-        hoarderLogger.debug(
-            HoarderAspect.class,
-            "Returning cached entities for {}.{} with value: {}",
-            entityClassName,
-            columnName,
-            columnValue);
-        return cached;
+    if (isMultiValuedResult(method)) {
+      // A bucket is only complete when the whole table was preloaded
+      if (hoarderCache.isFullyLoaded(entityClass)) {
+        List<?> cached = hoarderCache.getAllByColumn(entityClass, columnName, columnValue);
+        if (!cached.isEmpty()) {
+          hoarderLogger.debug(
+              HoarderAspect.class,
+              "Returning cached entities for {}.{} with value: {}",
+              entityClassName,
+              columnName,
+              columnValue);
+          traceRecorder.record(entityClass, columnName, columnValue, true);
+          return adaptResult(method, entityClass, cached);
+        }
       }
-    } else if (methodName.startsWith("findBy")) {
+    } else {
       Optional<?> cached = hoarderCache.getByColumn(entityClass, columnName, columnValue);
       if (cached.isPresent()) {
-        hoarderLogger.debug(
-            HoarderAspect.class,
-            "Returning cached entity for {}.{} with value: {}",
-            entityClassName,
-            columnName,
-            columnValue);
-        return cached;
+        Object result = adaptResult(method, entityClass, List.of(cached.get()));
+        if (result != UNSUPPORTED_RESULT) {
+          hoarderLogger.debug(
+              HoarderAspect.class,
+              "Returning cached entity for {}.{} with value: {}",
+              entityClassName,
+              columnName,
+              columnValue);
+          traceRecorder.record(entityClass, columnName, columnValue, true);
+          return result;
+        }
       }
     }
+    traceRecorder.record(entityClass, columnName, columnValue, false);
 
     hoarderLogger.debug(
         HoarderAspect.class,
@@ -186,42 +723,636 @@ public class HoarderAspect {
         columnName,
         columnValue);
 
-    Object result = pjp.proceed();
+    // Buckets of fully loaded entities hold every matching row and are never completed from a
+    // single result. List results are not cached, multi-valued lookups need the full preload.
+    return afterLoad(
+        pjp.proceed(),
+        result -> {
+          if (hoarderCache.isFullyLoaded(entityClass)) {
+            return;
+          }
+          Object entity = result instanceof Optional<?> opt ? opt.orElse(null) : result;
+          if (hoarderCache.getCachedType(entityClass).isInstance(entity)) {
+            hoarderCache.putByColumn(entityClass, columnName, columnValue, entity);
+            hoarderLogger.debug(
+                HoarderAspect.class,
+                "Cached entity for {}.{} with value: {}",
+                entityClassName,
+                columnName,
+                columnValue);
+          }
+        });
+  }
+
+  private Object interceptIgnoreCaseQuery(
+      ProceedingJoinPoint pjp, Class<?> entityClass, String columnName) throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    Object columnValue = pjp.getArgs()[0];
 
-    // Cache the result
-    if (result instanceof Optional<?> opt && opt.isPresent()) {
-      hoarderCache.putByColumn(entityClass, columnName, columnValue, opt.get());
+    if (!(columnValue instanceof String value)
+        || !hoarderCache.isNormalizedColumnCached(entityClass, columnName)
+        || (isMultiValuedResult(method) && !hoarderCache.isFullyLoaded(entityClass))) {
       hoarderLogger.debug(
           HoarderAspect.class,
-          "Cached entity for {}.{} with value: {}",
-          entityClassName,
+          "Case-insensitive query {} cannot be served from cache for column: {}",
+          method.getName(),
+          columnName);
+      return pjp.proceed();
+    }
+
+    List<?> cached = hoarderCache.getAllByColumnIgnoreCase(entityClass, columnName, value);
+    if (!cached.isEmpty()) {
+      Object result = adaptResult(method, entityClass, cached);
+      if (result != UNSUPPORTED_RESULT) {
+        hoarderLogger.debug(
+            HoarderAspect.class,
+            "Returning cached entities for {}.{} ignoring case with value: {}",
+            entityClass.getSimpleName(),
+            columnName,
+            value);
+        return result;
+      }
+    }
+
+    hoarderLogger.debug(
+        HoarderAspect.class,
+        "No cached entity found, executing database query for {}.{} ignoring case with value: {}",
+        entityClass.getSimpleName(),
+        columnName,
+        value);
+    return pjp.proceed();
+  }
+
+  private Object interceptPagedEqualityQuery(
+      ProceedingJoinPoint pjp,
+      Class<?> entityClass,
+      String columnName,
+      boolean ignoreCase,
+      QueryOptions options)
+      throws Throwable {
+    Object columnValue = pjp.getArgs()[0];
+    List<?> cached = List.of();
+    if (hoarderCache.isFullyLoaded(entityClass)) {
+      if (!ignoreCase) {
+        cached = hoarderCache.getAllByColumn(entityClass, columnName, columnValue);
+      } else if (columnValue instanceof String value) {
+        cached = hoarderCache.getAllByColumnIgnoreCase(entityClass, columnName, value);
+      }
+    }
+
+    if (cached.isEmpty()) {
+      hoarderLogger.debug(
+          HoarderAspect.class,
+          "No cached entities found, executing database query for {}.{} with value: {}",
+          entityClass.getSimpleName(),
           columnName,
           columnValue);
-    } else if (result instanceof List<?> list && !list.isEmpty()) {
-      // For list results, cache the first entity (assuming unique columns)
-      Object firstEntity = list.get(0);
-      hoarderCache.putByColumn(entityClass, columnName, columnValue, firstEntity);
+      return pjp.proceed();
+    }
+    return serveResults(pjp, entityClass, cached, false, options);
+  }
+
+  private Object interceptPatternQuery(
+      ProceedingJoinPoint pjp,
+      Class<?> entityClass,
+      Part part,
+      boolean ignoreCase,
+      QueryOptions options)
+      throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    String columnName = part.getProperty().toDotPath();
+    boolean indexed =
+        ignoreCase
+            ? hoarderCache.isNormalizedColumnCached(entityClass, columnName)
+            : hoarderCache.isColumnCached(entityClass, columnName);
+
+    // Pattern matches scan the distinct keys, which only covers every row after a full preload
+    if (!(pjp.getArgs()[0] instanceof String value)
+        || !indexed
+        || !hoarderCache.isFullyLoaded(entityClass)) {
+      hoarderLogger.debug(
+          HoarderAspect.class,
+          "Pattern query {} cannot be served from cache for column: {}",
+          method.getName(),
+          columnName);
+      return pjp.proceed();
+    }
+
+    String key = ignoreCase ? hoarderCache.normalize(value) : value;
+    int limit = options.isUnordered() ? options.limit() : Integer.MAX_VALUE;
+    List<?> candidates =
+        switch (part.getType()) {
+          case STARTING_WITH -> hoarderCache.getAllByPrefix(
+              entityClass, columnName, value, ignoreCase, limit);
+          case ENDING_WITH -> hoarderCache.getAllByKeyMatch(
+              entityClass, columnName, ignoreCase, k -> k.endsWith(key), limit);
+          default -> hoarderCache.getAllByKeyMatch(
+              entityClass, columnName, ignoreCase, k -> k.contains(key), limit);
+        };
+
+    return serveResults(pjp, entityClass, candidates, false, options);
+  }
+
+  private Object interceptRangeQuery(
+      ProceedingJoinPoint pjp, Class<?> entityClass, Part part, QueryOptions options)
+      throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    String columnName = part.getProperty().toDotPath();
+    Object[] args = pjp.getArgs();
+
+    if (!isSortedIndexAvailable(entityClass, columnName)
+        || Arrays.stream(args, 0, part.getNumberOfArguments()).anyMatch(Objects::isNull)) {
+      hoarderLogger.debug(
+          HoarderAspect.class,
+          "Range query {} cannot be served from cache for column: {}",
+          method.getName(),
+          columnName);
+      return pjp.proceed();
+    }
+
+    RangeBounds bounds = resolveRangeBounds(part, args);
+    if (bounds == null) {
+      return pjp.proceed();
+    }
+    return serveFromSortedIndex(
+        pjp,
+        entityClass,
+        columnName,
+        bounds.from(),
+        bounds.fromInclusive(),
+        bounds.to(),
+        bounds.toInclusive(),
+        options);
+  }
+
+  private OptionalLong countMatches(
+      Class<?> entityClass, Part part, Object[] args, boolean exists) {
+    String columnName = part.getProperty().toDotPath();
+    boolean ignoreCase = part.shouldIgnoreCase() != Part.IgnoreCaseType.NEVER;
+    int limit = exists ? 1 : Integer.MAX_VALUE;
+    // Null arguments become IS NULL in SQL, which the indexes do not hold
+    if (part.getNumberOfArguments() == 0
+        || Arrays.stream(args, 0, part.getNumberOfArguments()).anyMatch(Objects::isNull)) {
+      return OptionalLong.empty();
+    }
+    Object value = args[0];
+
+    if (part.getType() == Part.Type.SIMPLE_PROPERTY && !ignoreCase) {
+      if (columnName.equals(hoarderCache.getIdProperty(entityClass).orElse(null))) {
+        return OptionalLong.of(hoarderCache.get(entityClass, value).isPresent() ? 1 : 0);
+      }
+      return hoarderCache.isColumnCached(entityClass, columnName)
+          ? OptionalLong.of(hoarderCache.countByColumn(entityClass, columnName, value))
+          : OptionalLong.empty();
+    }
+    if (part.getType() == Part.Type.SIMPLE_PROPERTY) {
+      return value instanceof String stringValue
+              && hoarderCache.isNormalizedColumnCached(entityClass, columnName)
+          ? OptionalLong.of(
+              hoarderCache.countByColumnIgnoreCase(entityClass, columnName, stringValue))
+          : OptionalLong.empty();
+    }
+
+    if (PATTERN_TYPES.contains(part.getType())) {
+      boolean indexed =
+          ignoreCase
+              ? hoarderCache.isNormalizedColumnCached(entityClass, columnName)
+              : hoarderCache.isColumnCached(entityClass, columnName);
+      if (!(value instanceof String stringValue) || !indexed) {
+        return OptionalLong.empty();
+      }
+      String key = ignoreCase ? hoarderCache.normalize(stringValue) : stringValue;
+      List<?> matches =
+          switch (part.getType()) {
+            case STARTING_WITH -> hoarderCache.getAllByPrefix(
+                entityClass, columnName, stringValue, ignoreCase, limit);
+            case ENDING_WITH -> hoarderCache.getAllByKeyMatch(
+                entityClass, columnName, ignoreCase, k -> k.endsWith(key), limit);
+            default -> hoarderCache.getAllByKeyMatch(
+                entityClass, columnName, ignoreCase, k -> k.contains(key), limit);
+          };
+      return OptionalLong.of(matches.size());
+    }
+
+    RangeBounds bounds =
+        RANGE_TYPES.contains(part.getType()) && !ignoreCase
+            ? resolveRangeBounds(part, args)
+            : null;
+    if (bounds == null || !hoarderCache.isSortedColumnCached(entityClass, columnName)) {
+      return OptionalLong.empty();
+    }
+    try {
+      return OptionalLong.of(
+          hoarderCache
+              .getRangeByColumn(
+                  entityClass,
+                  columnName,
+                  bounds.from(),
+                  bounds.fromInclusive(),
+                  bounds.to(),
+                  bounds.toInclusive(),
+                  false,
+                  limit)
+              .size());
+    } catch (ClassCastException e) {
+      return OptionalLong.empty();
+    }
+  }
+
+  private RangeBounds resolveRangeBounds(Part part, Object[] args) {
+    return switch (part.getType()) {
+      case BETWEEN -> new RangeBounds(args[0], true, args[1], true);
+      case GREATER_THAN, AFTER -> new RangeBounds(args[0], false, null, false);
+      case GREATER_THAN_EQUAL -> new RangeBounds(args[0], true, null, false);
+      case LESS_THAN, BEFORE -> new RangeBounds(null, false, args[0], false);
+      case LESS_THAN_EQUAL -> new RangeBounds(null, false, args[0], true);
+      default -> null;
+    };
+  }
+
+  private boolean hasCompleteIdMap(Class<?> entityClass) {
+    return hoarderCache.isFullyLoaded(entityClass)
+        && hoarderCache.getIdProperty(entityClass).isPresent();
+  }
+
+  private Object adaptCountResult(Method method, boolean exists, long matches) {
+    Class<?> returnType = getResultType(method);
+    if (exists) {
+      return boolean.class.equals(returnType) || Boolean.class.equals(returnType)
+          ? matches > 0
+          : UNSUPPORTED_RESULT;
+    }
+    if (long.class.equals(returnType) || Long.class.equals(returnType)) {
+      return matches;
+    }
+    if (int.class.equals(returnType) || Integer.class.equals(returnType)) {
+      return (int) matches;
+    }
+    return UNSUPPORTED_RESULT;
+  }
+
+  private Object serveAllEntities(
+      ProceedingJoinPoint pjp, Class<?> entityClass, QueryOptions options) throws Throwable {
+    if (!hoarderCache.isFullyLoaded(entityClass)) {
+      hoarderLogger.debug(
+          HoarderAspect.class,
+          "Entity {} is not fully loaded, executing database query",
+          entityClass.getSimpleName());
+      return pjp.proceed();
+    }
+
+    // A sorted index covers every row only when the column holds no nulls
+    List<Sort.Order> orders = options.sort().toList();
+    if (orders.size() == 1) {
+      String columnName = orders.get(0).getProperty();
+      if (isSortedIndexAvailable(entityClass, columnName)
+          && !hoarderCache.hasNullValues(entityClass, columnName)
+          && !orders.get(0).isIgnoreCase()) {
+        return serveFromSortedIndex(
+            pjp, entityClass, columnName, null, false, null, false, options);
+      }
+    }
+
+    return serveResults(pjp, entityClass, hoarderCache.getAll(entityClass), false, options);
+  }
+
+  private Object serveFromSortedIndex(
+      ProceedingJoinPoint pjp,
+      Class<?> entityClass,
+      String columnName,
+      Object from,
+      boolean fromInclusive,
+      Object to,
+      boolean toInclusive,
+      QueryOptions options)
+      throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+
+    // Walk the index in the requested order when it matches, otherwise sort afterwards
+    Optional<Boolean> descending = resolveIndexOrder(options.sort(), columnName);
+    int limit =
+        descending.isPresent() && options.pageable() == null ? options.limit() : Integer.MAX_VALUE;
+
+    List<?> candidates;
+    try {
+      candidates =
+          hoarderCache.getRangeByColumn(
+              entityClass,
+              columnName,
+              from,
+              fromInclusive,
+              to,
+              toInclusive,
+              descending.orElse(false),
+              limit);
+    } catch (ClassCastException e) {
       hoarderLogger.debug(
           HoarderAspect.class,
-          "Cached first entity from list for {}.{} with value: {}",
-          entityClassName,
+          "Arguments of {} are not comparable with column {}: {}",
+          method.getName(),
           columnName,
-          columnValue);
+          e.getMessage());
+      return pjp.proceed();
+    }
+
+    return serveResults(pjp, entityClass, candidates, descending.isPresent(), options);
+  }
+
+  private Object serveResults(
+      ProceedingJoinPoint pjp,
+      Class<?> entityClass,
+      List<?> candidates,
+      boolean presorted,
+      QueryOptions options)
+      throws Throwable {
+    Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+    List<?> results = candidates;
+
+    if (!presorted && options.sort().isSorted()) {
+      List<Object> sorted = new ArrayList<>(candidates);
+      try {
+        sorted.sort(EntityComparators.forSort(entityClass, options.sort()));
+      } catch (RuntimeException e) {
+        hoarderLogger.debug(
+            HoarderAspect.class,
+            "Cannot sort cached results of {} in memory: {}",
+            method.getName(),
+            e.getMessage());
+        return pjp.proceed();
+      }
+      results = sorted;
+    }
+    if (results.size() > options.limit()) {
+      results = results.subList(0, options.limit());
+    }
+
+    Object result =
+        options.pageable() != null
+            ? toPage(method, entityClass, results, options.pageable())
+            : adaptResult(method, entityClass, results);
+    if (result == UNSUPPORTED_RESULT) {
+      return pjp.proceed();
     }
 
+    hoarderLogger.debug(
+        HoarderAspect.class,
+        "Returning cached results for {} from {} matching entities",
+        method.getName(),
+        results.size());
     return result;
   }
 
-  private String extractColumnName(String methodName) {
-    if (methodName.startsWith("findBy")) {
-      return methodName.substring(6); // Remove "findBy"
-    } else if (methodName.startsWith("findAllBy")) {
-      return methodName.substring(9); // Remove "findAllBy"
+  private Object toPage(
+      Method method, Class<?> entityClass, List<?> results, Pageable pageable) {
+    int from = 0;
+    int to = results.size();
+    if (pageable.isPaged()) {
+      from = (int) Math.min(pageable.getOffset(), results.size());
+      to = Math.min(from + pageable.getPageSize(), results.size());
+    }
+    List<?> content = results.subList(from, to);
+
+    Class<?> returnType = getResultType(method);
+    if (Page.class.equals(returnType) || Slice.class.equals(returnType)) {
+      content = toHits(entityClass, content);
+    }
+    if (Page.class.equals(returnType)) {
+      return new PageImpl<>(content, pageable, results.size());
+    }
+    if (Slice.class.equals(returnType)) {
+      return new SliceImpl<>(content, pageable, to < results.size());
+    }
+    return adaptResult(method, entityClass, content);
+  }
+
+  private boolean isSortedIndexAvailable(Class<?> entityClass, String columnName) {
+    return hoarderCache.isFullyLoaded(entityClass)
+        && hoarderCache.isSortedColumnCached(entityClass, columnName);
+  }
+
+  private Optional<Boolean> resolveIndexOrder(Sort sort, String columnName) {
+    if (sort.isUnsorted()) {
+      return Optional.of(false);
+    }
+    List<Sort.Order> orders = sort.toList();
+    if (orders.size() != 1
+        || !orders.get(0).getProperty().equals(columnName)
+        || orders.get(0).isIgnoreCase()) {
+      return Optional.empty();
+    }
+    return Optional.of(orders.get(0).isDescending());
+  }
+
+  private Optional<QueryOptions> resolveQueryOptions(PartTree partTree, Object[] args) {
+    Pageable pageable = null;
+    Sort dynamicSort = Sort.unsorted();
+    for (Object arg : args) {
+      if (arg instanceof Pageable p) {
+        pageable = p;
+        dynamicSort = p.getSort();
+      } else if (arg instanceof Sort s) {
+        dynamicSort = s;
+      }
+    }
+
+    // Combining a static OrderBy with a dynamic sort or a Top/First limit with paging is left
+    // to the database
+    if ((partTree.getSort().isSorted() && dynamicSort.isSorted())
+        || (partTree.isLimiting() && pageable != null)) {
+      return Optional.empty();
+    }
+
+    Sort sort = partTree.getSort().isSorted() ? partTree.getSort() : dynamicSort;
+    int limit = partTree.isLimiting() ? partTree.getMaxResults() : Integer.MAX_VALUE;
+    return Optional.of(new QueryOptions(sort, pageable, limit));
+  }
+
+  private PartTree getPartTree(Method method, Class<?> entityClass) {
+    return partTreeCache
+        .computeIfAbsent(
+            method,
+            m -> {
+              try {
+                return Optional.of(new PartTree(m.getName(), entityClass));
+              } catch (Exception e) {
+                hoarderLogger.debug(
+                    HoarderAspect.class,
+                    "Cannot parse derived query method {}: {}",
+                    m.getName(),
+                    e.getMessage());
+                return Optional.empty();
+              }
+            })
+        .orElse(null);
+  }
+
+  private boolean hasUnsupportedParameter(Method method) {
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (Limit.class.isAssignableFrom(parameterType)
+          || ScrollPosition.class.isAssignableFrom(parameterType)
+          || Class.class.equals(parameterType)) {
+        return true;
+      }
     }
-    return null;
+    return false;
   }
 
+  private boolean returnsCachedType(Method method, Class<?> entityClass) {
+    // An empty element type stands for the repository's domain type parameter
+    Optional<Class<?>> elementType =
+        elementTypeCache.computeIfAbsent(
+            method,
+            m -> {
+              ResolvableType returnType = resolveResultType(m);
+              Class<?> rawType = returnType.resolve(Object.class);
+              ResolvableType element =
+                  Optional.class.equals(rawType)
+                          || Stream.class.equals(rawType)
+                          || Iterable.class.isAssignableFrom(rawType)
+                      ? returnType.getGeneric(0)
+                      : returnType;
+              return element.getType() instanceof TypeVariable<?>
+                  ? Optional.empty()
+                  : Optional.of(element.resolve(Object.class));
+            });
+    return elementType
+        .orElse(entityClass)
+        .isAssignableFrom(hoarderCache.getCachedType(entityClass));
+  }
+
+  // Async methods are answered like their synchronous form and completed afterwards
+  private static Class<?> getResultType(Method method) {
+    Class<?> returnType = method.getReturnType();
+    return isFutureType(returnType) ? resolveResultType(method).resolve(Object.class) : returnType;
+  }
+
+  private static ResolvableType resolveResultType(Method method) {
+    ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+    return isFutureType(returnType.resolve(Object.class)) ? returnType.getGeneric(0) : returnType;
+  }
+
+  private static boolean isFutureType(Class<?> type) {
+    return Future.class.isAssignableFrom(type) && type.isAssignableFrom(CompletableFuture.class);
+  }
+
+  private boolean isMultiValuedResult(Method method) {
+    Class<?> returnType = getResultType(method);
+    return Iterable.class.isAssignableFrom(returnType) || Stream.class.equals(returnType);
+  }
+
+  private Object adaptResult(Method method, Class<?> entityClass, List<?> results) {
+    Class<?> returnType = getResultType(method);
+    if (Optional.class.equals(returnType)) {
+      return results.size() > 1
+          ? UNSUPPORTED_RESULT
+          : results.stream().findFirst().map(entity -> toHit(entityClass, entity));
+    }
+    if (Stream.class.equals(returnType)) {
+      return toHits(entityClass, results).stream();
+    }
+    if (!Object.class.equals(returnType) && returnType.isAssignableFrom(List.class)) {
+      return toHits(entityClass, results);
+    }
+    if (results.isEmpty()) {
+      return returnType.isPrimitive() ? UNSUPPORTED_RESULT : null;
+    }
+    if (results.size() == 1 && returnType.isInstance(results.get(0))) {
+      return toHit(entityClass, results.get(0));
+    }
+    return UNSUPPORTED_RESULT;
+  }
+
+  private List<?> toHits(Class<?> entityClass, List<?> results) {
+    if (hoarderCache.getHitPolicy(entityClass) == HitPolicy.SHARE) {
+      return results;
+    }
+    return results.stream().map(entity -> toHit(entityClass, entity)).toList();
+  }
+
+  private Object toHit(Class<?> entityClass, Object entity) {
+    HitPolicy hitPolicy = hoarderCache.getHitPolicy(entityClass);
+    // Records from projections are immutable already
+    if (hitPolicy == HitPolicy.SHARE || entity.getClass().isRecord()) {
+      return entity;
+    }
+    return hitPolicy == HitPolicy.COPY ? EntityCopier.copy(entity) : EntityCopier.snapshot(entity);
+  }
+
+  @FunctionalInterface
+  private interface Interception {
+    Object intercept(ProceedingJoinPoint pjp) throws Throwable;
+  }
+
+  // Sort, paging and Top/First limit of a single repository call
+  private record QueryOptions(Sort sort, Pageable pageable, int limit) {
+
+    boolean isUnordered() {
+      return sort.isUnsorted() && pageable == null;
+    }
+
+    boolean isPlain() {
+      return isUnordered() && limit == Integer.MAX_VALUE;
+    }
+  }
+
+  private record RangeBounds(
+      Object from, boolean fromInclusive, Object to, boolean toInclusive) {}
+
+  // The repository's entity, the declared entities and hoarded entity names in the @Query
+  private Class<?>[] getQueryEntities(Method method, HoardedQuery hoardedQuery, Object target) {
+    return queryEntitiesCache.computeIfAbsent(
+        method,
+        m -> {
+          Set<Class<?>> entities = new LinkedHashSet<>(Arrays.asList(hoardedQuery.entities()));
+          Class<?> repositoryEntity = hoardedEntityCache.get(getEntityClassName(target));
+          if (repositoryEntity != null) {
+            entities.add(repositoryEntity);
+          }
+
+          Query query = m.getAnnotation(Query.class);
+          if (query != null && !query.nativeQuery()) {
+            Set<String> tokens = Set.of(query.value().split("\\W+"));
+            for (Class<?> hoarded : hoardedEntityCache.values()) {
+              Entity entity = hoarded.getAnnotation(Entity.class);
+              String entityName =
+                  entity != null && !entity.name().isEmpty()
+                      ? entity.name()
+                      : hoarded.getSimpleName();
+              if (tokens.contains(entityName)) {
+                entities.add(hoarded);
+              }
+            }
+          }
+
+          if (entities.isEmpty()) {
+            hoarderLogger.warn(
+                HoarderAspect.class,
+                "No hoarded entity found for @HoardedQuery method {}, results are not cached",
+                m.getName());
+          }
+          return entities.toArray(Class<?>[]::new);
+        });
+  }
+
+  private Class<?> getHoardedEntity(String entityClassName) {
+    Class<?> entityClass = hoardedEntityCache.get(entityClassName);
+    if (entityClass == null && adaptiveHoarder.isEnabled()) {
+      return adaptiveHoarder.getServedEntity(entityClassName);
+    }
+    if (entityClass != null) {
+      // Starts the load of entities deferred until their first use
+      hoarderCache.onAccess(entityClass);
+    }
+    return entityClass;
+  }
+
+  // Resolved once per repository proxy class, every intercepted call needs it
   private String getEntityClassName(Object repository) {
+    return entityNameCache.computeIfAbsent(
+        repository.getClass(), repositoryClass -> resolveEntityClassName(repository));
+  }
+
+  private String resolveEntityClassName(Object repository) {
     hoarderLogger.trace(
         HoarderAspect.class,
         "Extracting entity class name from repository: {}",
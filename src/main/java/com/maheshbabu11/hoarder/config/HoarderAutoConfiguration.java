@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @AutoConfiguration
 @ConditionalOnClass(
@@ -15,4 +16,5 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
 @EnableConfigurationProperties(HoarderProperties.class)
 @ComponentScan(basePackages = "com.maheshbabu11.hoarder")
 @EnableAspectJAutoProxy
+@ImportRuntimeHints(HoarderRuntimeHints.class)
 public class HoarderAutoConfiguration {}
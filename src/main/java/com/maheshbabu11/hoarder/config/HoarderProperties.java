@@ -1,5 +1,6 @@
 package com.maheshbabu11.hoarder.config;
 
+import com.maheshbabu11.hoarder.annotation.HitPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -9,11 +10,19 @@ public class HoarderProperties {
 
   private Cache cache = new Cache();
   private Logging logging = new Logging();
+  private Trace trace = new Trace();
 
   @Data
   public static class Cache {
     private boolean enabled = true;
+    private HitPolicy hitPolicy = HitPolicy.SHARE; // Applied to entities without their own policy
     private Refresh refresh = new Refresh();
+    private SecondLevel secondLevel = new SecondLevel();
+    private HotSet hotSet = new HotSet();
+    private Preload preload = new Preload();
+    private QueryResults queryResults = new QueryResults();
+    private Async async = new Async();
+    private Adaptive adaptive = new Adaptive();
 
     @Data
     public static class Refresh {
@@ -21,6 +30,52 @@ public class HoarderProperties {
       private long intervalMinutes = 60; // Default 1 hour
       private long delayMinutes = 60; // Initial delay before first refresh
     }
+
+    @Data
+    public static class Preload {
+      private String entityManagerFactory = ""; // Bean name for scans, e.g. a read replica
+      private int maxRowsPerSecond = 0; // Rows read per second by all scans, 0 for no limit
+      private int maxConcurrentScans = 1; // Scans running at the same time on this node
+      private long startJitterSeconds = 0; // Random delay of the initial preload and refresh
+      private int fetchSize = 1000; // JDBC fetch size of rate limited scans
+    }
+
+    @Data
+    public static class QueryResults {
+      private int maxEntries = 10_000; // Results of @HoardedQuery methods kept at most
+    }
+
+    @Data
+    public static class Async {
+      private boolean virtualThreads = true; // Used for async misses when the JVM provides them
+      private int threads = 16; // Platform threads loading async misses otherwise
+    }
+
+    @Data
+    public static class Adaptive {
+      private boolean enabled = false; // Promote and demote entities without @Hoarded at runtime
+      private long intervalSeconds = 60; // How often repository traffic is evaluated
+      private double minReadsPerMinute = 600; // Read rate an entity needs to be promoted
+      private double maxWriteRatio = 0.01; // Writes per read above which an entity is not cached
+      private double coldReadsPerMinute = 60; // Promoted entities read less often are demoted
+      private long maxRowsPerEntity = 50_000; // Larger tables are never promoted
+      private long maxRows = 200_000; // Rows held by all promoted entities together
+    }
+
+    @Data
+    public static class HotSet {
+      private int size = 100_000; // Most accessed keys kept per HOT_SET entity
+      private int batchSize = 1000; // Keys per IN query when loading the hot set
+      private long persistIntervalMinutes = 5; // How often access statistics are written
+      private String directory = System.getProperty("user.home") + "/.hoarder/hot-set";
+    }
+
+    @Data
+    public static class SecondLevel {
+      private boolean enabled = false; // Register Hoarder as Hibernate's second-level cache
+      private int maxEntries = 10_000; // Non-hoarded entries kept per region at most
+      private long ttlSeconds = 600; // Lifetime of non-hoarded entries, 0 for no expiry
+    }
   }
 
   @Data
@@ -29,6 +84,13 @@ public class HoarderProperties {
     private LogLevel level = LogLevel.INFO;
   }
 
+  @Data
+  public static class Trace {
+    private boolean enabled = false; // Record cache lookups for offline policy simulation
+    private String directory = System.getProperty("user.home") + "/.hoarder/trace";
+    private int maxSizeMb = 64; // Size of the ring file, older records are overwritten
+  }
+
   public enum LogLevel {
     TRACE,
     DEBUG,
@@ -0,0 +1,58 @@
+package com.maheshbabu11.hoarder.config;
+
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.core.HoardedEntityDescriptor;
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+// Native images only see what is registered here: the generated descriptors, plus the reflection
+// the index builder, entity copier and projections still use on hoarded entities
+class HoarderRuntimeHints implements RuntimeHintsRegistrar {
+
+  @Override
+  public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+    hints
+        .resources()
+        .registerPattern("META-INF/services/" + HoardedEntityDescriptor.class.getName());
+    // CacheAnalyzer reads the static cache maps reflectively to report their sizes
+    hints.reflection().registerType(HoarderCache.class, MemberCategory.DECLARED_FIELDS);
+
+    try {
+      ServiceLoader.load(HoardedEntityDescriptor.class, classLoader)
+          .forEach(descriptor -> registerDescriptor(hints, descriptor));
+    } catch (ServiceConfigurationError e) {
+      // Without descriptors the registry falls back to scanning the metamodel at runtime
+    }
+  }
+
+  private void registerDescriptor(RuntimeHints hints, HoardedEntityDescriptor descriptor) {
+    hints
+        .reflection()
+        .registerType(descriptor.getClass(), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+    Class<?> entityClass = descriptor.entityClass();
+    hints
+        .reflection()
+        .registerType(
+            entityClass,
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS);
+
+    Hoarded hoarded = entityClass.getAnnotation(Hoarded.class);
+    if (hoarded != null && hoarded.projection() != void.class) {
+      hints
+          .reflection()
+          .registerType(
+              hoarded.projection(),
+              MemberCategory.DECLARED_FIELDS,
+              MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+              MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.maheshbabu11.hoarder.config;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderRegionFactory;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(value = "hoarder.cache.second-level.enabled", havingValue = "true")
+public class HoarderSecondLevelCacheConfiguration {
+
+  @Bean
+  public HibernatePropertiesCustomizer hoarderRegionFactoryCustomizer(
+      ObjectProvider<HoarderCache> hoarderCache,
+      HoarderProperties hoarderProperties,
+      HoarderLogger hoarderLogger) {
+    // The cache bean is looked up lazily, it is not needed until the first region access
+    HoarderRegionFactory regionFactory =
+        new HoarderRegionFactory(
+            hoarderCache::getIfAvailable,
+            hoarderProperties.getCache().getSecondLevel(),
+            hoarderLogger);
+    return properties -> {
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, regionFactory);
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+    };
+  }
+}
@@ -0,0 +1,104 @@
+package com.maheshbabu11.hoarder.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Count-min sketch of key accesses with the approximate top-K keys tracked next to it
+final class AccessSketch {
+
+  private static final int DEPTH = 4;
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicIntegerArray counters;
+  private final AtomicLong additions = new AtomicLong();
+  private final long agingThreshold;
+  private final Map<Object, Integer> candidates = new ConcurrentHashMap<>();
+  private volatile int admissionThreshold;
+
+  AccessSketch(int capacity) {
+    this.capacity = Math.max(1, capacity);
+    int width = Integer.highestOneBit(Math.max(1024, this.capacity * 2) - 1) << 1;
+    this.mask = width - 1;
+    this.counters = new AtomicIntegerArray(width * DEPTH);
+    this.agingThreshold = (long) width * 10;
+  }
+
+  void record(Object key) {
+    int estimate = increment(key);
+    if (estimate > admissionThreshold || candidates.containsKey(key)) {
+      candidates.put(key, estimate);
+      // Trimming in bulk keeps the per-access cost constant
+      if (candidates.size() > capacity * 2) {
+        prune();
+      }
+    }
+    if (additions.incrementAndGet() >= agingThreshold) {
+      age();
+    }
+  }
+
+  // Counts of a previous run start out halved, so keys that cooled down are replaced over time
+  void seed(Map<Object, Integer> counts) {
+    counts.forEach((key, count) -> candidates.merge(key, count >>> 1, Math::max));
+    if (candidates.size() > capacity) {
+      prune();
+    }
+  }
+
+  Map<Object, Integer> snapshot() {
+    Map<Object, Integer> snapshot = new LinkedHashMap<>();
+    for (Map.Entry<Object, Integer> entry : ranked()) {
+      if (snapshot.size() >= capacity) break;
+      snapshot.put(entry.getKey(), entry.getValue());
+    }
+    return snapshot;
+  }
+
+  private int increment(Object key) {
+    int h1 = spread(key.hashCode());
+    int h2 = spread(h1) | 1;
+    int estimate = Integer.MAX_VALUE;
+    for (int row = 0; row < DEPTH; row++) {
+      int index = row * (mask + 1) + ((h1 + row * h2) & mask);
+      estimate = Math.min(estimate, counters.incrementAndGet(index));
+    }
+    return estimate;
+  }
+
+  private synchronized void prune() {
+    if (candidates.size() <= capacity) return;
+
+    List<Map.Entry<Object, Integer>> ranked = ranked();
+    ranked.subList(capacity, ranked.size()).forEach(entry -> candidates.remove(entry.getKey()));
+    admissionThreshold = ranked.get(capacity - 1).getValue();
+  }
+
+  // Halving every counter keeps the sketch biased towards recent traffic
+  private synchronized void age() {
+    if (additions.get() < agingThreshold) return;
+
+    additions.set(0);
+    for (int i = 0; i < counters.length(); i++) {
+      counters.set(i, counters.get(i) >>> 1);
+    }
+    candidates.replaceAll((key, count) -> count >>> 1);
+    admissionThreshold >>>= 1;
+  }
+
+  private List<Map.Entry<Object, Integer>> ranked() {
+    List<Map.Entry<Object, Integer>> ranked = new ArrayList<>(candidates.entrySet());
+    ranked.sort(Map.Entry.<Object, Integer>comparingByValue().reversed());
+    return ranked;
+  }
+
+  private static int spread(int hash) {
+    hash *= 0x9E3779B9;
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,320 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Watches the repository traffic of entities without @Hoarded and caches the read-heavy, rarely
+// written and small ones at runtime, within a row budget. Promoted entities are dropped again
+// once they turn cold or write-heavy.
+@Component
+@ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveHoarder {
+
+  // Weight of the latest interval in the smoothed rates
+  private static final double SMOOTHING = 0.5;
+  // Table sizes are recounted after this many evaluations
+  private static final int RECOUNT_INTERVALS = 10;
+
+  private final Map<String, Traffic> traffic = new ConcurrentHashMap<>();
+  private final Map<String, Promotion> promoted = new ConcurrentHashMap<>();
+  private final AtomicLong promotions = new AtomicLong();
+  private final AtomicLong demotions = new AtomicLong();
+  private final ScheduledExecutorService evaluator =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "hoarder-adaptive");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final HoarderProperties properties;
+  private final HoarderLogger hoarderLogger;
+  private final HoarderCache hoarderCache;
+  private final HoarderInitializer hoarderInitializer;
+  private final HoardedEntityRegistry hoardedEntityRegistry;
+  private final EntityManager entityManager;
+  private final boolean enabled;
+
+  public AdaptiveHoarder(
+      HoarderProperties properties,
+      HoarderLogger hoarderLogger,
+      HoarderCache hoarderCache,
+      HoarderInitializer hoarderInitializer,
+      HoardedEntityRegistry hoardedEntityRegistry,
+      EntityManager entityManager) {
+    this.properties = properties;
+    this.hoarderLogger = hoarderLogger;
+    this.hoarderCache = hoarderCache;
+    this.hoarderInitializer = hoarderInitializer;
+    this.hoardedEntityRegistry = hoardedEntityRegistry;
+    this.entityManager = entityManager;
+    this.enabled = properties.getCache().getAdaptive().isEnabled();
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    long interval = Math.max(1, properties.getCache().getAdaptive().getIntervalSeconds());
+    evaluator.scheduleWithFixedDelay(this::evaluate, interval, interval, TimeUnit.SECONDS);
+    hoarderLogger.info(
+        AdaptiveHoarder.class, "Adaptive hoarding evaluates traffic every {} seconds", interval);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    evaluator.shutdownNow();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void recordRead(String entityName) {
+    if (enabled) {
+      traffic.computeIfAbsent(entityName, k -> new Traffic()).reads.increment();
+    }
+  }
+
+  public void recordWrite(String entityName) {
+    if (enabled) {
+      traffic.computeIfAbsent(entityName, k -> new Traffic()).writes.increment();
+    }
+  }
+
+  // A promoted entity, whether or not its rows are current
+  public Class<?> getPromotedEntity(String entityName) {
+    Promotion promotion = promoted.get(entityName);
+    return promotion != null ? promotion.entityClass : null;
+  }
+
+  // A promoted entity whose rows were loaded after its last write, null otherwise
+  public Class<?> getServedEntity(String entityName) {
+    Promotion promotion = promoted.get(entityName);
+    return promotion != null && promotion.isCurrent() ? promotion.entityClass : null;
+  }
+
+  public long getPromotions() {
+    return promotions.get();
+  }
+
+  public long getDemotions() {
+    return demotions.get();
+  }
+
+  public long getPromotedRows() {
+    return promoted.values().stream().mapToLong(promotion -> promotion.rows).sum();
+  }
+
+  public List<EntityTraffic> getTraffic() {
+    List<EntityTraffic> snapshot = new ArrayList<>();
+    traffic.forEach(
+        (entityName, entityTraffic) ->
+            snapshot.add(
+                new EntityTraffic(
+                    entityName,
+                    entityTraffic.readsPerMinute,
+                    entityTraffic.writesPerMinute,
+                    entityTraffic.rows,
+                    promoted.containsKey(entityName))));
+    return snapshot;
+  }
+
+  private void evaluate() {
+    try {
+      HoarderProperties.Cache.Adaptive adaptive = properties.getCache().getAdaptive();
+      double minutes = Math.max(1, adaptive.getIntervalSeconds()) / 60.0;
+      List<String> candidates = new ArrayList<>();
+
+      for (Map.Entry<String, Traffic> entry : traffic.entrySet()) {
+        String entityName = entry.getKey();
+        Traffic entityTraffic = entry.getValue();
+        entityTraffic.sample(minutes);
+
+        Promotion promotion = promoted.get(entityName);
+        if (promotion != null) {
+          reviewPromotion(entityName, entityTraffic, promotion, adaptive);
+        } else if (entityTraffic.readsPerMinute >= adaptive.getMinReadsPerMinute()
+            && !isWriteHeavy(entityTraffic, adaptive)) {
+          candidates.add(entityName);
+        }
+      }
+
+      // The hottest candidates get the remaining row budget first
+      candidates.sort(
+          Comparator.comparingDouble((String name) -> traffic.get(name).readsPerMinute)
+              .reversed());
+      for (String entityName : candidates) {
+        considerPromotion(entityName, traffic.get(entityName), adaptive);
+      }
+    } catch (Exception e) {
+      hoarderLogger.error(
+          AdaptiveHoarder.class, "Failed to evaluate repository traffic: {}", e.getMessage());
+    }
+  }
+
+  private void reviewPromotion(
+      String entityName,
+      Traffic entityTraffic,
+      Promotion promotion,
+      HoarderProperties.Cache.Adaptive adaptive) {
+    if (entityTraffic.readsPerMinute < adaptive.getColdReadsPerMinute()) {
+      demote(entityName, promotion, "cold", entityTraffic);
+    } else if (isWriteHeavy(entityTraffic, adaptive)) {
+      demote(entityName, promotion, "write-heavy", entityTraffic);
+    } else if (!promotion.isCurrent()) {
+      // Written since the load, so it is not served until reloaded
+      load(entityName, promotion.entityClass, entityTraffic, "Reloaded");
+    }
+  }
+
+  private void considerPromotion(
+      String entityName, Traffic entityTraffic, HoarderProperties.Cache.Adaptive adaptive) {
+    Class<?> entityClass = resolveEntity(entityName);
+    if (entityClass == null) {
+      return;
+    }
+
+    if (entityTraffic.rows < 0 || --entityTraffic.intervalsUntilRecount <= 0) {
+      entityTraffic.rows = hoarderInitializer.countRows(entityClass);
+      entityTraffic.intervalsUntilRecount = RECOUNT_INTERVALS;
+    }
+    if (entityTraffic.rows > adaptive.getMaxRowsPerEntity()) {
+      hoarderLogger.debug(
+          AdaptiveHoarder.class,
+          "Not promoting entity {}: {} rows exceed the limit of {}",
+          entityName,
+          entityTraffic.rows,
+          adaptive.getMaxRowsPerEntity());
+      return;
+    }
+    if (getPromotedRows() + entityTraffic.rows > adaptive.getMaxRows()) {
+      hoarderLogger.info(
+          AdaptiveHoarder.class,
+          "Not promoting entity {}: {} rows do not fit the remaining budget of {}",
+          entityName,
+          entityTraffic.rows,
+          adaptive.getMaxRows() - getPromotedRows());
+      return;
+    }
+
+    if (load(entityName, entityClass, entityTraffic, "Promoted")) {
+      promotions.incrementAndGet();
+    }
+  }
+
+  // Loads into an empty cache, so a write racing with the scan leaves the generation changed
+  private boolean load(
+      String entityName, Class<?> entityClass, Traffic entityTraffic, String action) {
+    hoarderCache.clearForEntity(entityClass);
+    long generation = hoarderCache.getGeneration(entityClass);
+    try {
+      int rows = hoarderInitializer.loadEntity(entityClass);
+      entityTraffic.rows = rows;
+      promoted.put(entityName, new Promotion(entityClass, rows, generation));
+      hoarderLogger.info(
+          AdaptiveHoarder.class,
+          "{} entity {} with {} rows ({} reads/min, {} writes/min)",
+          action,
+          entityName,
+          rows,
+          Math.round(entityTraffic.readsPerMinute),
+          Math.round(entityTraffic.writesPerMinute));
+      return true;
+    } catch (Exception e) {
+      promoted.remove(entityName);
+      hoarderCache.clearForEntity(entityClass);
+      hoarderLogger.error(
+          AdaptiveHoarder.class, "Failed to load entity {}: {}", entityName, e.getMessage());
+      return false;
+    }
+  }
+
+  private void demote(
+      String entityName, Promotion promotion, String reason, Traffic entityTraffic) {
+    promoted.remove(entityName);
+    hoarderCache.clearForEntity(promotion.entityClass);
+    demotions.incrementAndGet();
+    hoarderLogger.info(
+        AdaptiveHoarder.class,
+        "Demoted {} entity {}, freeing {} rows ({} reads/min, {} writes/min)",
+        reason,
+        entityName,
+        promotion.rows,
+        Math.round(entityTraffic.readsPerMinute),
+        Math.round(entityTraffic.writesPerMinute));
+  }
+
+  private boolean isWriteHeavy(Traffic entityTraffic, HoarderProperties.Cache.Adaptive adaptive) {
+    return entityTraffic.writesPerMinute
+        > entityTraffic.readsPerMinute * adaptive.getMaxWriteRatio();
+  }
+
+  // Repositories are matched to entities by simple name; @Hoarded ones are never touched
+  private Class<?> resolveEntity(String entityName) {
+    for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+      Class<?> javaType = entityType.getJavaType();
+      if (javaType != null && javaType.getSimpleName().equals(entityName)) {
+        return hoardedEntityRegistry.getHoardedEntities().contains(javaType) ? null : javaType;
+      }
+    }
+    return null;
+  }
+
+  public record EntityTraffic(
+      String entityName,
+      double readsPerMinute,
+      double writesPerMinute,
+      long rows,
+      boolean promoted) {}
+
+  private static final class Traffic {
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private volatile double readsPerMinute;
+    private volatile double writesPerMinute;
+    private volatile long rows = -1;
+    private int intervalsUntilRecount;
+
+    // Rates ramp up over a few intervals, so a single burst does not promote an entity
+    private void sample(double minutes) {
+      double reads = this.reads.sumThenReset() / minutes;
+      double writes = this.writes.sumThenReset() / minutes;
+      readsPerMinute = readsPerMinute * (1 - SMOOTHING) + reads * SMOOTHING;
+      writesPerMinute = writesPerMinute * (1 - SMOOTHING) + writes * SMOOTHING;
+    }
+  }
+
+  private final class Promotion {
+    private final Class<?> entityClass;
+    private final long rows;
+    private final long generation;
+
+    private Promotion(Class<?> entityClass, long rows, long generation) {
+      this.entityClass = entityClass;
+      this.rows = rows;
+      this.generation = generation;
+    }
+
+    private boolean isCurrent() {
+      return hoarderCache.getGeneration(entityClass) == generation;
+    }
+  }
+}
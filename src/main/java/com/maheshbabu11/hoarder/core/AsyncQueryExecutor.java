@@ -0,0 +1,90 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the database queries of async repository methods that missed the cache. Hits are
+// completed on the calling thread and never get here.
+@Component
+@ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncQueryExecutor {
+
+  private final ExecutorService executor;
+
+  public AsyncQueryExecutor(HoarderProperties properties, HoarderLogger hoarderLogger) {
+    HoarderProperties.Cache.Async async = properties.getCache().getAsync();
+    ExecutorService virtualThreads = async.isVirtualThreads() ? createVirtualExecutor() : null;
+    if (virtualThreads != null) {
+      this.executor = virtualThreads;
+      hoarderLogger.debug(AsyncQueryExecutor.class, "Loading async misses on virtual threads");
+    } else {
+      this.executor = createPlatformExecutor(Math.max(1, async.getThreads()));
+      hoarderLogger.debug(
+          AsyncQueryExecutor.class,
+          "Loading async misses on {} platform threads",
+          Math.max(1, async.getThreads()));
+    }
+  }
+
+  public CompletableFuture<Object> submit(Query query) {
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    executor.execute(
+        () -> {
+          try {
+            future.complete(query.run());
+          } catch (Throwable e) {
+            future.completeExceptionally(e);
+          }
+        });
+    return future;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  // Virtual threads need Java 21, looked up reflectively since the library targets Java 17
+  private static ExecutorService createVirtualExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private static ExecutorService createPlatformExecutor(int threads) {
+    AtomicInteger counter = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              Thread thread = new Thread(runnable, "hoarder-async-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @FunctionalInterface
+  public interface Query {
+    Object run() throws Throwable;
+  }
+}
@@ -0,0 +1,611 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import com.maheshbabu11.hoarder.util.PropertyAccessors;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.sqm.ComparisonOperator;
+import org.hibernate.query.sqm.tree.SqmTypedNode;
+import org.hibernate.query.sqm.tree.domain.SqmBasicValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmEmbeddedValuedSimplePath;
+import org.hibernate.query.sqm.tree.domain.SqmPath;
+import org.hibernate.query.sqm.tree.expression.SqmExpression;
+import org.hibernate.query.sqm.tree.expression.SqmFunction;
+import org.hibernate.query.sqm.tree.expression.SqmLiteral;
+import org.hibernate.query.sqm.tree.expression.SqmLiteralNull;
+import org.hibernate.query.sqm.tree.expression.ValueBindJpaCriteriaParameter;
+import org.hibernate.query.sqm.tree.predicate.SqmBetweenPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmBooleanExpressionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmComparisonPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmGroupedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmInListPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmJunctionPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmLikePredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNegatedPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmNullnessPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmPredicate;
+import org.hibernate.query.sqm.tree.predicate.SqmTruthnessPredicate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Example;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// Evaluates Specification and Example predicates against fully loaded entities. The predicate is
+// built with Hibernate's own CriteriaBuilder and its SQM tree is compiled into a three-valued
+// condition, so NULL handling matches SQL. Anything else falls back to the database.
+@Component
+@ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CriteriaEvaluator {
+
+  // Below this many candidates a parallel stream costs more than it saves
+  private static final int PARALLEL_THRESHOLD = 10_000;
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final HoarderCache hoarderCache;
+  private final HoarderLogger hoarderLogger;
+
+  public CriteriaEvaluator(
+      EntityManagerFactory entityManagerFactory,
+      HoarderCache hoarderCache,
+      HoarderLogger hoarderLogger) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.hoarderCache = hoarderCache;
+    this.hoarderLogger = hoarderLogger;
+  }
+
+  // Matching cached entities in cache order, empty when the result would not be exact
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public Optional<List<Object>> findAll(Class<?> entityClass, Specification<?> specification) {
+    return evaluate(
+        entityClass,
+        (root, query, cb) ->
+            specification != null
+                ? ((Specification) specification).toPredicate(root, query, cb)
+                : null);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public Optional<List<Object>> findAll(Class<?> entityClass, Example<?> example) {
+    if (!entityClass.equals(example.getProbeType())) {
+      return Optional.empty();
+    }
+    return evaluate(
+        entityClass,
+        (root, query, cb) ->
+            QueryByExamplePredicateBuilder.getPredicate(root, cb, (Example) example));
+  }
+
+  @SuppressWarnings("unchecked")
+  private Optional<List<Object>> evaluate(Class<?> entityClass, PredicateFactory factory) {
+    if (!hoarderCache.isFullyLoaded(entityClass) || hoarderCache.isProjected(entityClass)) {
+      return Optional.empty();
+    }
+
+    CriteriaBuilder cb = entityManagerFactory.getCriteriaBuilder();
+    CriteriaQuery<Object> query = cb.createQuery((Class<Object>) entityClass);
+    Root<Object> root = query.from((Class<Object>) entityClass);
+    Predicate predicate;
+    try {
+      predicate = factory.create(root, query, cb);
+    } catch (RuntimeException e) {
+      hoarderLogger.debug(
+          CriteriaEvaluator.class,
+          "Cannot build predicate for {}: {}",
+          entityClass.getSimpleName(),
+          e.getMessage());
+      return Optional.empty();
+    }
+
+    // Joins, ordering or extra roots added by the predicate change the result shape
+    if (!root.getJoins().isEmpty()
+        || !root.getFetches().isEmpty()
+        || query.getRoots().size() != 1
+        || !query.getOrderList().isEmpty()
+        || query.getRestriction() != null) {
+      return Optional.empty();
+    }
+
+    Condition condition = predicate == null ? entity -> Boolean.TRUE : compile(predicate, root);
+    if (condition == null) {
+      hoarderLogger.debug(
+          CriteriaEvaluator.class,
+          "Predicate on {} cannot be evaluated in memory",
+          entityClass.getSimpleName());
+      return Optional.empty();
+    }
+
+    List<Object> candidates =
+        predicate == null ? null : selectCandidates(entityClass, (SqmPredicate) predicate, root);
+    if (candidates == null) {
+      candidates = (List<Object>) hoarderCache.getAll(entityClass);
+    }
+
+    try {
+      List<Object> matches =
+          (candidates.size() >= PARALLEL_THRESHOLD
+                  ? candidates.parallelStream()
+                  : candidates.stream())
+              .filter(entity -> Boolean.TRUE.equals(condition.test(entity)))
+              .toList();
+      hoarderLogger.debug(
+          CriteriaEvaluator.class,
+          "Evaluated predicate on {} over {} candidates, {} matches",
+          entityClass.getSimpleName(),
+          candidates.size(),
+          matches.size());
+      return Optional.of(matches);
+    } catch (RuntimeException e) {
+      // Values that cannot be compared in Java, e.g. mixed types, are left to the database
+      hoarderLogger.debug(
+          CriteriaEvaluator.class,
+          "Cannot evaluate predicate on {} in memory: {}",
+          entityClass.getSimpleName(),
+          e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  // Picks the smallest hash index bucket among the top-level AND terms, null for a full scan
+  @SuppressWarnings("unchecked")
+  private List<Object> selectCandidates(
+      Class<?> entityClass, SqmPredicate predicate, Root<?> root) {
+    List<SqmPredicate> terms = List.of(predicate);
+    if (predicate instanceof SqmJunctionPredicate junction
+        && !junction.isNegated()
+        && junction.getOperator() == Predicate.BooleanOperator.AND) {
+      terms = junction.getPredicates();
+    }
+
+    String bestColumn = null;
+    Set<Object> bestValues = null;
+    int bestCount = Integer.MAX_VALUE;
+    for (SqmPredicate term : terms) {
+      if (term.isNegated()) {
+        continue;
+      }
+      SqmExpression<?> tested;
+      List<SqmExpression<?>> keys;
+      if (term instanceof SqmComparisonPredicate comparison
+          && comparison.getSqmOperator() == ComparisonOperator.EQUAL) {
+        boolean pathOnLeft = comparison.getLeftHandExpression() instanceof SqmPath<?>;
+        tested =
+            pathOnLeft ? comparison.getLeftHandExpression() : comparison.getRightHandExpression();
+        keys =
+            List.of(
+                pathOnLeft
+                    ? comparison.getRightHandExpression()
+                    : comparison.getLeftHandExpression());
+      } else if (term instanceof SqmInListPredicate<?> in) {
+        tested = in.getTestExpression();
+        keys = new ArrayList<>(in.getListExpressions());
+      } else {
+        continue;
+      }
+
+      String column = getIndexableColumn(entityClass, tested, root);
+      Set<Object> values = column != null ? getIndexKeys(tested, keys) : null;
+      if (values == null) {
+        continue;
+      }
+      int count = 0;
+      for (Object value : values) {
+        count += countByColumn(entityClass, column, value);
+      }
+      if (count < bestCount) {
+        bestColumn = column;
+        bestValues = values;
+        bestCount = count;
+      }
+    }
+    if (bestColumn == null) {
+      return null;
+    }
+
+    List<Object> candidates = new ArrayList<>(bestCount);
+    for (Object value : bestValues) {
+      if (bestColumn.equals(hoarderCache.getIdProperty(entityClass).orElse(null))) {
+        hoarderCache.get((Class<Object>) entityClass, value).ifPresent(candidates::add);
+      } else {
+        candidates.addAll(
+            hoarderCache.getAllByColumn((Class<Object>) entityClass, bestColumn, value));
+      }
+    }
+    return candidates;
+  }
+
+  private String getIndexableColumn(
+      Class<?> entityClass, SqmExpression<?> expression, Root<?> root) {
+    if (!(expression instanceof SqmBasicValuedSimplePath<?> path) || path.getLhs() != root) {
+      return null;
+    }
+    String column = path.getNavigablePath().getLocalName();
+    boolean id = column.equals(hoarderCache.getIdProperty(entityClass).orElse(null));
+    return id || hoarderCache.isColumnCached(entityClass, column) ? column : null;
+  }
+
+  // Index lookups are exact only when the keys have the column's own Java type
+  private Set<Object> getIndexKeys(SqmExpression<?> tested, List<SqmExpression<?>> keys) {
+    Class<?> columnType = ClassUtils.resolvePrimitiveIfNecessary(tested.getJavaType());
+    Set<Object> values = new LinkedHashSet<>();
+    for (SqmExpression<?> key : keys) {
+      Optional<Object> constant = getConstant(key);
+      if (constant == null) {
+        return null;
+      }
+      List<Object> expanded = expand(constant.orElse(null));
+      for (Object value : expanded) {
+        if (value == null) {
+          continue;
+        }
+        if (!columnType.equals(value.getClass())) {
+          return null;
+        }
+        values.add(value);
+      }
+    }
+    return values;
+  }
+
+  private int countByColumn(Class<?> entityClass, String column, Object value) {
+    if (column.equals(hoarderCache.getIdProperty(entityClass).orElse(null))) {
+      return hoarderCache.get(entityClass, value).isPresent() ? 1 : 0;
+    }
+    return hoarderCache.countByColumn(entityClass, column, value);
+  }
+
+  // Null when the predicate uses a construct without an exact in-memory equivalent
+  private Condition compile(Predicate predicate, Root<?> root) {
+    Condition condition = compileUnnegated(predicate, root);
+    if (condition == null || !predicate.isNegated() || predicate instanceof SqmNegatedPredicate) {
+      return condition;
+    }
+    return not(condition);
+  }
+
+  private Condition compileUnnegated(Predicate predicate, Root<?> root) {
+    if (predicate instanceof SqmNegatedPredicate negated) {
+      // A negated negation wrapper is not produced by the CriteriaBuilder, so it is not guessed
+      if (negated.isNegated()) {
+        return null;
+      }
+      Condition wrapped = compile(negated.getWrappedPredicate(), root);
+      return wrapped != null ? not(wrapped) : null;
+    }
+    if (predicate instanceof SqmGroupedPredicate grouped) {
+      return compile(grouped.getSubPredicate(), root);
+    }
+    if (predicate instanceof SqmJunctionPredicate junction) {
+      return compileJunction(junction, root);
+    }
+    if (predicate instanceof SqmComparisonPredicate comparison) {
+      return compileComparison(comparison, root);
+    }
+    if (predicate instanceof SqmNullnessPredicate nullness) {
+      Function<Object, Object> operand = compileOperand(nullness.getExpression(), root);
+      return operand != null ? entity -> operand.apply(entity) == null : null;
+    }
+    if (predicate instanceof SqmBetweenPredicate between) {
+      return compileBetween(between, root);
+    }
+    if (predicate instanceof SqmLikePredicate like) {
+      return compileLike(like, root);
+    }
+    if (predicate instanceof SqmInListPredicate<?> in) {
+      return compileIn(in, root);
+    }
+    if (predicate instanceof SqmTruthnessPredicate truthness) {
+      Function<Object, Object> operand = compileOperand(truthness.getExpression(), root);
+      boolean expected = truthness.getBooleanValue();
+      return operand != null
+          ? entity -> Boolean.valueOf(expected).equals(operand.apply(entity))
+          : null;
+    }
+    if (predicate instanceof SqmBooleanExpressionPredicate booleanExpression) {
+      Function<Object, Object> operand =
+          compileOperand(booleanExpression.getBooleanExpression(), root);
+      return operand != null ? entity -> (Boolean) operand.apply(entity) : null;
+    }
+    return null;
+  }
+
+  private Condition compileJunction(SqmJunctionPredicate junction, Root<?> root) {
+    List<Condition> conditions = new ArrayList<>();
+    for (SqmPredicate child : junction.getPredicates()) {
+      Condition condition = compile(child, root);
+      if (condition == null) {
+        return null;
+      }
+      conditions.add(condition);
+    }
+
+    // An empty AND is true and an empty OR is false, as for cb.conjunction()/disjunction()
+    boolean and = junction.getOperator() == Predicate.BooleanOperator.AND;
+    return entity -> {
+      boolean unknown = false;
+      for (Condition condition : conditions) {
+        Boolean result = condition.test(entity);
+        if (result == null) {
+          unknown = true;
+        } else if (result != and) {
+          return !and;
+        }
+      }
+      return unknown ? null : and;
+    };
+  }
+
+  private Condition compileComparison(SqmComparisonPredicate comparison, Root<?> root) {
+    Function<Object, Object> left = compileOperand(comparison.getLeftHandExpression(), root);
+    Function<Object, Object> right = compileOperand(comparison.getRightHandExpression(), root);
+    if (left == null || right == null) {
+      return null;
+    }
+
+    ComparisonOperator operator = comparison.getSqmOperator();
+    return switch (operator) {
+      case EQUAL -> entity -> equal(left.apply(entity), right.apply(entity));
+      case NOT_EQUAL -> not(entity -> equal(left.apply(entity), right.apply(entity)));
+      case NOT_DISTINCT_FROM ->
+          entity -> notDistinct(left.apply(entity), right.apply(entity));
+      case DISTINCT_FROM -> entity -> !notDistinct(left.apply(entity), right.apply(entity));
+      default ->
+          entity -> {
+            Integer order = compare(left.apply(entity), right.apply(entity));
+            if (order == null) {
+              return null;
+            }
+            return switch (operator) {
+              case LESS_THAN -> order < 0;
+              case LESS_THAN_OR_EQUAL -> order <= 0;
+              case GREATER_THAN -> order > 0;
+              default -> order >= 0;
+            };
+          };
+    };
+  }
+
+  private Condition compileBetween(SqmBetweenPredicate between, Root<?> root) {
+    Function<Object, Object> value = compileOperand(between.getExpression(), root);
+    Function<Object, Object> lower = compileOperand(between.getLowerBound(), root);
+    Function<Object, Object> upper = compileOperand(between.getUpperBound(), root);
+    if (value == null || lower == null || upper == null) {
+      return null;
+    }
+    return entity -> {
+      Object current = value.apply(entity);
+      Integer fromLower = compare(current, lower.apply(entity));
+      Integer toUpper = compare(current, upper.apply(entity));
+      if ((fromLower != null && fromLower < 0) || (toUpper != null && toUpper > 0)) {
+        return false;
+      }
+      return fromLower == null || toUpper == null ? null : true;
+    };
+  }
+
+  private Condition compileLike(SqmLikePredicate like, Root<?> root) {
+    Function<Object, Object> value = compileOperand(like.getMatchExpression(), root);
+    Optional<Object> pattern = getConstant(like.getPattern());
+    Optional<Object> escape =
+        like.getEscapeCharacter() != null
+            ? getConstant(like.getEscapeCharacter())
+            : Optional.empty();
+    if (value == null || pattern == null || escape == null) {
+      return null;
+    }
+    if (pattern.isEmpty()) {
+      return entity -> null;
+    }
+
+    Character escapeCharacter =
+        escape.map(e -> e instanceof Character c ? c : e.toString().charAt(0)).orElse(null);
+    Pattern regex = toRegex(pattern.get().toString(), escapeCharacter, like.isCaseSensitive());
+    return entity -> {
+      Object current = value.apply(entity);
+      return current != null ? regex.matcher(current.toString()).matches() : null;
+    };
+  }
+
+  private Condition compileIn(SqmInListPredicate<?> in, Root<?> root) {
+    Function<Object, Object> value = compileOperand(in.getTestExpression(), root);
+    if (value == null) {
+      return null;
+    }
+    List<Object> candidates = new ArrayList<>();
+    for (SqmExpression<?> expression : in.getListExpressions()) {
+      Optional<Object> constant = getConstant(expression);
+      if (constant == null) {
+        return null;
+      }
+      candidates.addAll(expand(constant.orElse(null)));
+    }
+
+    return entity -> {
+      Object current = value.apply(entity);
+      if (current == null) {
+        return null;
+      }
+      boolean unknown = false;
+      for (Object candidate : candidates) {
+        Boolean result = equal(current, candidate);
+        if (result == null) {
+          unknown = true;
+        } else if (result) {
+          return true;
+        }
+      }
+      return unknown ? null : false;
+    };
+  }
+
+  private Function<Object, Object> compileOperand(SqmTypedNode<?> node, Root<?> root) {
+    Optional<Object> constant = node instanceof SqmExpression<?> e ? getConstant(e) : null;
+    if (constant != null) {
+      Object value = constant.orElse(null);
+      return value instanceof Collection<?> ? null : entity -> value;
+    }
+
+    if (node instanceof SqmFunction<?> function && function.getArguments().size() == 1) {
+      String name = function.getFunctionName().toLowerCase(Locale.ROOT);
+      Function<Object, Object> argument = compileOperand(function.getArguments().get(0), root);
+      if (argument == null || !(name.equals("lower") || name.equals("upper"))) {
+        return null;
+      }
+      boolean lower = name.equals("lower");
+      return entity -> {
+        Object value = argument.apply(entity);
+        if (value == null) {
+          return null;
+        }
+        String text = value.toString();
+        return lower ? text.toLowerCase(Locale.ROOT) : text.toUpperCase(Locale.ROOT);
+      };
+    }
+
+    String path =
+        node instanceof SqmBasicValuedSimplePath<?> basic ? toPropertyPath(basic, root) : null;
+    return path != null ? PropertyAccessors.forPath(root.getJavaType(), path) : null;
+  }
+
+  // Direct attributes and attributes of embeddables; associations would need joins
+  private String toPropertyPath(SqmPath<?> path, Root<?> root) {
+    String name = path.getNavigablePath().getLocalName();
+    SqmPath<?> parent = path.getLhs();
+    if (parent == root) {
+      return name;
+    }
+    if (parent instanceof SqmEmbeddedValuedSimplePath<?> embedded) {
+      String parentPath = toPropertyPath(embedded, root);
+      return parentPath != null ? parentPath + "." + name : null;
+    }
+    return null;
+  }
+
+  // Empty optional for a NULL constant, null when the expression is not a constant
+  private Optional<Object> getConstant(SqmExpression<?> expression) {
+    if (expression instanceof SqmLiteralNull<?>) {
+      return Optional.empty();
+    }
+    if (expression instanceof SqmLiteral<?> literal) {
+      return Optional.ofNullable(literal.getLiteralValue());
+    }
+    if (expression instanceof ValueBindJpaCriteriaParameter<?> parameter) {
+      return Optional.ofNullable(parameter.getValue());
+    }
+    return null;
+  }
+
+  private static List<Object> expand(Object value) {
+    List<Object> values = new ArrayList<>();
+    if (value instanceof Collection<?> collection) {
+      values.addAll(collection);
+    } else {
+      values.add(value);
+    }
+    return values;
+  }
+
+  private static Condition not(Condition condition) {
+    return entity -> {
+      Boolean result = condition.test(entity);
+      return result != null ? !result : null;
+    };
+  }
+
+  private static Boolean equal(Object left, Object right) {
+    if (left == null || right == null) {
+      return null;
+    }
+    if (left instanceof Number l
+        && right instanceof Number r
+        && !left.getClass().equals(right.getClass())) {
+      return toBigDecimal(l).compareTo(toBigDecimal(r)) == 0;
+    }
+    if (left instanceof BigDecimal l && right instanceof BigDecimal r) {
+      return l.compareTo(r) == 0;
+    }
+    return left.equals(right);
+  }
+
+  private static boolean notDistinct(Object left, Object right) {
+    return left == null || right == null ? left == right : equal(left, right);
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Integer compare(Object left, Object right) {
+    if (left == null || right == null) {
+      return null;
+    }
+    if (left instanceof Number l
+        && right instanceof Number r
+        && !left.getClass().equals(right.getClass())) {
+      return toBigDecimal(l).compareTo(toBigDecimal(r));
+    }
+    // Enums compare by ordinal or name depending on their mapping
+    if (left instanceof Enum<?> || !(left instanceof Comparable)) {
+      throw new IllegalArgumentException("Cannot order values of " + left.getClass().getName());
+    }
+    return ((Comparable) left).compareTo(right);
+  }
+
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal decimal) {
+      return decimal;
+    }
+    if (number instanceof Double || number instanceof Float) {
+      return BigDecimal.valueOf(number.doubleValue());
+    }
+    return new BigDecimal(number.toString());
+  }
+
+  private static Pattern toRegex(String pattern, Character escape, boolean caseSensitive) {
+    StringBuilder regex = new StringBuilder();
+    StringBuilder literal = new StringBuilder();
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (escape != null && c == escape && i + 1 < pattern.length()) {
+        literal.append(pattern.charAt(++i));
+      } else if (c == '%' || c == '_') {
+        if (!literal.isEmpty()) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == '%' ? ".*" : ".");
+      } else {
+        literal.append(c);
+      }
+    }
+    if (!literal.isEmpty()) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    int flags =
+        Pattern.DOTALL | (caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    return Pattern.compile(regex.toString(), flags);
+  }
+
+  @FunctionalInterface
+  private interface PredicateFactory {
+    Predicate create(Root<Object> root, CriteriaQuery<Object> query, CriteriaBuilder cb);
+  }
+
+  // Three-valued like SQL: null stands for UNKNOWN
+  @FunctionalInterface
+  private interface Condition {
+    Boolean test(Object entity);
+  }
+}
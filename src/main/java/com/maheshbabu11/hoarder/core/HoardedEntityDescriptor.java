@@ -0,0 +1,18 @@
+package com.maheshbabu11.hoarder.core;
+
+import java.util.Map;
+import java.util.function.Function;
+
+// Generated at build time by HoardedEntityProcessor so startup needs no reflective discovery
+public interface HoardedEntityDescriptor {
+
+  Class<?> entityClass();
+
+  // Null when the entity has no @Id or @EmbeddedId field
+  String idProperty();
+
+  Function<Object, Object> idAccessor();
+
+  // Columns without a directly accessible field or getter are left to reflection
+  Map<String, Function<Object, Object>> columnAccessors();
+}
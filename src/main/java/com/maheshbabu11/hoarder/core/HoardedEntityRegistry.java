@@ -0,0 +1,97 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+@Component
+public class HoardedEntityRegistry {
+
+  private final EntityManager entityManager;
+  private final HoarderLogger hoarderLogger;
+  private final Map<Class<?>, HoardedEntityDescriptor> descriptors;
+  private volatile List<Class<?>> hoardedEntities;
+
+  public HoardedEntityRegistry(EntityManager entityManager, HoarderLogger hoarderLogger) {
+    this.entityManager = entityManager;
+    this.hoarderLogger = hoarderLogger;
+    this.descriptors = loadDescriptors();
+  }
+
+  public List<Class<?>> getHoardedEntities() {
+    List<Class<?>> entities = hoardedEntities;
+    if (entities == null) {
+      // Entities compiled without the processor, e.g. in another module, have no descriptor
+      Set<Class<?>> union = new LinkedHashSet<>(filterManaged());
+      union.addAll(scanMetamodel());
+      entities = List.copyOf(union);
+      hoardedEntities = entities;
+    }
+    return entities;
+  }
+
+  public Optional<HoardedEntityDescriptor> getDescriptor(Class<?> entityClass) {
+    return Optional.ofNullable(descriptors.get(entityClass));
+  }
+
+  private Map<Class<?>, HoardedEntityDescriptor> loadDescriptors() {
+    Map<Class<?>, HoardedEntityDescriptor> loaded = new LinkedHashMap<>();
+    try {
+      ClassLoader classLoader = HoardedEntityRegistry.class.getClassLoader();
+      ServiceLoader.load(HoardedEntityDescriptor.class, classLoader)
+          .forEach(descriptor -> loaded.put(descriptor.entityClass(), descriptor));
+    } catch (ServiceConfigurationError e) {
+      hoarderLogger.warn(
+          HoardedEntityRegistry.class,
+          "Failed to load generated entity descriptors, scanning the metamodel: {}",
+          e.getMessage());
+      return Collections.emptyMap();
+    }
+    hoarderLogger.debug(
+        HoardedEntityRegistry.class, "Loaded {} generated entity descriptors", loaded.size());
+    return loaded;
+  }
+
+  // Descriptors from other modules may name entities this persistence unit does not manage
+  private List<Class<?>> filterManaged() {
+    Metamodel metamodel = entityManager.getMetamodel();
+    List<Class<?>> managed = new ArrayList<>();
+    for (Class<?> entityClass : descriptors.keySet()) {
+      try {
+        metamodel.entity(entityClass);
+        managed.add(entityClass);
+      } catch (IllegalArgumentException e) {
+        hoarderLogger.debug(
+            HoardedEntityRegistry.class,
+            "Skipping hoarded entity not managed by this persistence unit: {}",
+            entityClass.getName());
+      }
+    }
+    return Collections.unmodifiableList(managed);
+  }
+
+  private List<Class<?>> scanMetamodel() {
+    List<Class<?>> hoarded = new ArrayList<>();
+    for (EntityType<?> entityType : entityManager.getMetamodel().getEntities()) {
+      Class<?> javaType = entityType.getJavaType();
+      if (javaType.isAnnotationPresent(Hoarded.class)) {
+        hoarded.add(javaType);
+      }
+    }
+    return Collections.unmodifiableList(hoarded);
+  }
+}
@@ -1,5 +1,7 @@
 package com.maheshbabu11.hoarder.core;
 
+import com.maheshbabu11.hoarder.annotation.HitPolicy;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
 import com.maheshbabu11.hoarder.config.HoarderProperties;
 import com.maheshbabu11.hoarder.util.CacheAnalyzer;
 import com.maheshbabu11.hoarder.util.HoarderLogger;
@@ -8,7 +10,10 @@ import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Component
@@ -17,6 +22,23 @@ public class HoarderCache {
   private static final Map<Class<?>, Map<Object, Object>> CACHE = new ConcurrentHashMap<>();
   private static final Map<Class<?>, Map<String, Map<Object, List<Object>>>> COLUMN_CACHE =
       new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Map<String, NavigableMap<Object, List<Object>>>>
+      SORTED_COLUMN_CACHE = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Map<String, NavigableMap<String, List<Object>>>>
+      NORMALIZED_COLUMN_CACHE = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Set<String>> COLUMNS_WITH_NULLS = new ConcurrentHashMap<>();
+  private static final Set<Class<?>> FULLY_LOADED = ConcurrentHashMap.newKeySet();
+  private static final Map<Class<?>, String> ID_PROPERTIES = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Class<?>> PROJECTIONS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Map<String, Function<Object, Object>>> COLUMN_EXTRACTORS =
+      new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Runnable> LOAD_TRIGGERS = new ConcurrentHashMap<>();
+  // Advanced on every change of an entity's rows, cached query results compare against it
+  private static final Map<Class<?>, AtomicLong> GENERATIONS = new ConcurrentHashMap<>();
+  // Writes recorded through repositories, a load started before one of them is not complete
+  private static final Map<Class<?>, AtomicLong> WRITES = new ConcurrentHashMap<>();
+  // IDs evicted from fully loaded entities, which are complete again once all are cached anew
+  private static final Map<Class<?>, Set<Object>> EVICTED_IDS = new ConcurrentHashMap<>();
 
   private final HoarderProperties properties;
   private final HoarderLogger hoarderLogger;
@@ -30,17 +52,7 @@ public class HoarderCache {
   }
 
   public void preload(Class<?> clazz, List<?> records, Function<Object, Object> idExtractor) {
-    if (records.isEmpty()) return;
-
-    Map<Object, Object> entityMap = CACHE.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>());
-    records.parallelStream()
-        .forEach(
-            record -> {
-              Object id = idExtractor.apply(record);
-              if (id != null) {
-                entityMap.put(id, record);
-              }
-            });
+    preloadIndexes(clazz, records, idExtractor, Collections.emptyMap());
   }
 
   public void preloadByColumn(
@@ -48,30 +60,124 @@ public class HoarderCache {
       String columnName,
       List<?> records,
       Function<Object, Object> columnExtractor) {
+    preloadIndexes(clazz, records, null, Map.of(columnName, columnExtractor));
+  }
+
+  public void preloadIndexes(
+      Class<?> clazz,
+      List<?> records,
+      Function<Object, Object> idExtractor,
+      Map<String, Function<Object, Object>> columnExtractors) {
     if (records.isEmpty()) return;
 
+    registerColumnExtractors(clazz, columnExtractors);
+    IndexBuilder.Result indexes = new IndexBuilder(idExtractor, columnExtractors).build(records);
+
+    // Freshly built maps are installed as they are, entries cached from misses are kept
+    if (indexes.ids() != null) {
+      CACHE.merge(
+          clazz,
+          indexes.ids(),
+          (existing, loaded) -> {
+            existing.putAll(loaded);
+            return existing;
+          });
+    }
+
     Map<String, Map<Object, List<Object>>> classColumnCache =
         COLUMN_CACHE.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>());
-    Map<Object, List<Object>> columnMap =
-        classColumnCache.computeIfAbsent(columnName, k -> new ConcurrentHashMap<>());
+    indexes
+        .columns()
+        .forEach(
+            (columnName, columnMap) ->
+                classColumnCache.merge(
+                    columnName,
+                    columnMap,
+                    (existing, loaded) -> {
+                      existing.putAll(loaded);
+                      return existing;
+                    }));
+
+    if (!indexes.columnsWithNulls().isEmpty()) {
+      COLUMNS_WITH_NULLS
+          .computeIfAbsent(clazz, k -> ConcurrentHashMap.newKeySet())
+          .addAll(indexes.columnsWithNulls());
+    }
+  }
 
-    // Group records by column value for better handling of duplicate values
-    Map<Object, List<Object>> groupedRecords =
-        records.parallelStream()
-            .collect(
-                Collectors.groupingBy(
-                    record -> {
-                      Object value = columnExtractor.apply(record);
-                      return value != null ? value : "NULL_VALUE";
-                    },
-                    Collectors.toList()));
-
-    groupedRecords.forEach(
-        (value, recordList) -> {
-          if (!"NULL_VALUE".equals(value)) {
-            columnMap.put(value, recordList);
-          }
-        });
+  // Swaps in indexes built from a fresh scan, so rows deleted since the last load disappear.
+  // Sorted and case-folded indexes are dropped and have to be rebuilt from the new buckets.
+  public void reload(
+      Class<?> clazz,
+      List<?> records,
+      Function<Object, Object> idExtractor,
+      Map<String, Function<Object, Object>> columnExtractors) {
+    registerColumnExtractors(clazz, columnExtractors);
+    IndexBuilder.Result indexes =
+        records.isEmpty()
+            ? new IndexBuilder.Result(new ConcurrentHashMap<>(), Map.of(), List.of())
+            : new IndexBuilder(idExtractor, columnExtractors).build(records);
+
+    if (indexes.ids() != null) {
+      CACHE.put(clazz, indexes.ids());
+    }
+    Map<String, Map<Object, List<Object>>> columns = new ConcurrentHashMap<>(indexes.columns());
+    for (String columnName : columnExtractors.keySet()) {
+      columns.putIfAbsent(columnName, new ConcurrentHashMap<>());
+    }
+    COLUMN_CACHE.put(clazz, columns);
+    SORTED_COLUMN_CACHE.remove(clazz);
+    NORMALIZED_COLUMN_CACHE.remove(clazz);
+    Set<String> columnsWithNulls = ConcurrentHashMap.newKeySet();
+    columnsWithNulls.addAll(indexes.columnsWithNulls());
+    COLUMNS_WITH_NULLS.put(clazz, columnsWithNulls);
+    advanceGeneration(clazz);
+  }
+
+  public void preloadSortedByColumn(Class<?> clazz, String columnName) {
+    Optional<Map<Object, List<Object>>> columnMap = getColumnMap(clazz, columnName);
+    if (columnMap.isEmpty()) return;
+
+    // Built from the hash buckets so both indexes share the same lists
+    NavigableMap<Object, List<Object>> sortedMap;
+    try {
+      sortedMap = new ConcurrentSkipListMap<>(columnMap.get());
+    } catch (ClassCastException e) {
+      hoarderLogger.warn(
+          HoarderCache.class,
+          "Column '{}' of {} is not comparable, skipping sorted index",
+          columnName,
+          clazz.getSimpleName());
+      return;
+    }
+
+    SORTED_COLUMN_CACHE
+        .computeIfAbsent(clazz, k -> new ConcurrentHashMap<>())
+        .put(columnName, sortedMap);
+  }
+
+  public void preloadNormalizedByColumn(Class<?> clazz, String columnName) {
+    Optional<Map<Object, List<Object>>> columnMap = getColumnMap(clazz, columnName);
+    if (columnMap.isEmpty()) return;
+
+    NavigableMap<String, List<Object>> normalizedMap = new ConcurrentSkipListMap<>();
+    for (Map.Entry<Object, List<Object>> entry : columnMap.get().entrySet()) {
+      if (!(entry.getKey() instanceof String value)) {
+        hoarderLogger.warn(
+            HoarderCache.class,
+            "Column '{}' of {} is not a String, skipping case-insensitive index",
+            columnName,
+            clazz.getSimpleName());
+        return;
+      }
+      normalizedMap
+          .computeIfAbsent(normalize(value), k -> new ArrayList<>())
+          .addAll(entry.getValue());
+    }
+
+    NORMALIZED_COLUMN_CACHE
+        .computeIfAbsent(clazz, k -> new ConcurrentHashMap<>())
+        .put(columnName, normalizedMap);
   }
 
   @SuppressWarnings("unchecked")
@@ -81,6 +187,17 @@ public class HoarderCache {
     return Optional.ofNullable((T) CACHE.getOrDefault(clazz, Collections.emptyMap()).get(id));
   }
 
+  public int size(Class<?> clazz) {
+    return CACHE.getOrDefault(clazz, Collections.emptyMap()).size();
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getAll(Class<T> clazz) {
+    return CACHE.getOrDefault(clazz, Collections.emptyMap()).values().stream()
+        .map(obj -> (T) obj)
+        .collect(Collectors.toList());
+  }
+
   @SuppressWarnings("unchecked")
   public <T> Optional<T> getByColumn(Class<T> clazz, String columnName, Object value) {
     if (value == null) return Optional.empty();
@@ -102,21 +219,187 @@ public class HoarderCache {
         .orElse(Collections.emptyList());
   }
 
+  public int countByColumn(Class<?> clazz, String columnName, Object value) {
+    if (value == null) return 0;
+
+    return getColumnMap(clazz, columnName)
+        .map(columnMap -> columnMap.get(value))
+        .map(List::size)
+        .orElse(0);
+  }
+
+  public int countByColumnIgnoreCase(Class<?> clazz, String columnName, String value) {
+    if (value == null) return 0;
+
+    return getNormalizedColumnMap(clazz, columnName)
+        .map(normalizedMap -> normalizedMap.get(normalize(value)))
+        .map(List::size)
+        .orElse(0);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getAllByColumnIgnoreCase(Class<T> clazz, String columnName, String value) {
+    if (value == null) return Collections.emptyList();
+
+    return getNormalizedColumnMap(clazz, columnName)
+        .map(normalizedMap -> normalizedMap.get(normalize(value)))
+        .map(list -> list.stream().map(obj -> (T) obj).collect(Collectors.toList()))
+        .orElse(Collections.emptyList());
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getAllByPrefix(
+      Class<T> clazz, String columnName, String prefix, boolean ignoreCase, int limit) {
+    String key = ignoreCase ? normalize(prefix) : prefix;
+    NavigableMap<?, List<Object>> sortedMap =
+        ignoreCase
+            ? getNormalizedColumnMap(clazz, columnName).orElse(null)
+            : getSortedColumnMap(clazz, columnName).orElse(null);
+    if (sortedMap == null) {
+      return getAllByKeyMatch(
+          clazz, columnName, ignoreCase, value -> value.startsWith(key), limit);
+    }
+
+    // Matching keys form one contiguous run starting at the prefix itself
+    List<T> result = new ArrayList<>();
+    for (Map.Entry<?, List<Object>> entry :
+        ((NavigableMap<Object, List<Object>>) sortedMap).tailMap(key, true).entrySet()) {
+      if (!(entry.getKey() instanceof String value) || !value.startsWith(key)) break;
+      for (Object entity : entry.getValue()) {
+        if (result.size() >= limit) return result;
+        result.add((T) entity);
+      }
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getAllByKeyMatch(
+      Class<T> clazz,
+      String columnName,
+      boolean ignoreCase,
+      Predicate<String> keyMatcher,
+      int limit) {
+    Map<?, List<Object>> columnMap =
+        ignoreCase
+            ? getNormalizedColumnMap(clazz, columnName).orElse(null)
+            : getColumnMap(clazz, columnName).orElse(null);
+    if (columnMap == null) return Collections.emptyList();
+
+    List<T> result = new ArrayList<>();
+    for (Map.Entry<?, List<Object>> entry : columnMap.entrySet()) {
+      if (!(entry.getKey() instanceof String value) || !keyMatcher.test(value)) continue;
+      for (Object entity : entry.getValue()) {
+        if (result.size() >= limit) return result;
+        result.add((T) entity);
+      }
+    }
+    return result;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> List<T> getRangeByColumn(
+      Class<T> clazz,
+      String columnName,
+      Object from,
+      boolean fromInclusive,
+      Object to,
+      boolean toInclusive,
+      boolean descending,
+      int limit) {
+    NavigableMap<Object, List<Object>> sortedMap =
+        getSortedColumnMap(clazz, columnName).orElse(null);
+    if (sortedMap == null || limit <= 0) return Collections.emptyList();
+
+    NavigableMap<Object, List<Object>> range;
+    if (from != null && to != null) {
+      // An inverted range matches nothing, just like BETWEEN in SQL
+      if (((Comparable<Object>) from).compareTo(to) > 0) return Collections.emptyList();
+      range = sortedMap.subMap(from, fromInclusive, to, toInclusive);
+    } else if (from != null) {
+      range = sortedMap.tailMap(from, fromInclusive);
+    } else if (to != null) {
+      range = sortedMap.headMap(to, toInclusive);
+    } else {
+      range = sortedMap;
+    }
+    if (descending) {
+      range = range.descendingMap();
+    }
+
+    List<T> result = new ArrayList<>();
+    for (List<Object> bucket : range.values()) {
+      for (Object entity : bucket) {
+        if (result.size() >= limit) return result;
+        result.add((T) entity);
+      }
+    }
+    return result;
+  }
+
   public <T> void put(Class<?> clazz, Object id, T entity) {
-    if (id == null || entity == null) return;
+    if (id == null || entity == null || !getCachedType(clazz).isInstance(entity)) return;
 
     CACHE.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>()).put(id, entity);
+
+    // A row evicted from a fully loaded entity returns to its column indexes as well
+    Set<Object> evictedIds = EVICTED_IDS.get(clazz);
+    if (evictedIds != null && evictedIds.remove(id)) {
+      COLUMN_EXTRACTORS
+          .getOrDefault(clazz, Collections.emptyMap())
+          .forEach(
+              (columnName, extractor) ->
+                  putByColumn(clazz, columnName, extractor.apply(entity), entity));
+    }
   }
 
   public <T> void putByColumn(Class<?> clazz, String columnName, Object value, T entity) {
-    if (value == null || entity == null) return;
+    if (value == null || entity == null || !getCachedType(clazz).isInstance(entity)) return;
 
     Map<String, Map<Object, List<Object>>> classColumnCache =
         COLUMN_CACHE.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>());
     Map<Object, List<Object>> columnMap =
         classColumnCache.computeIfAbsent(columnName, k -> new ConcurrentHashMap<>());
 
-    columnMap.computeIfAbsent(value, k -> new ArrayList<>()).add(entity);
+    // Buckets are replaced rather than mutated since readers iterate them without locking
+    List<Object> bucket = columnMap.compute(value, (key, existing) -> with(existing, entity));
+
+    // Keep the sorted index pointing at the same bucket as the hash index
+    getSortedColumnMap(clazz, columnName).ifPresent(sortedMap -> sortedMap.put(value, bucket));
+    if (value instanceof String stringValue) {
+      getNormalizedColumnMap(clazz, columnName)
+          .ifPresent(
+              normalizedMap ->
+                  normalizedMap.compute(
+                      normalize(stringValue), (key, existing) -> with(existing, entity)));
+    }
+  }
+
+  // Drops a single row. A fully loaded entity stays loaded but is not answered as complete until
+  // the row is cached again, and a load running concurrently is not marked complete.
+  public void evict(Class<?> clazz, Object id) {
+    if (id == null) return;
+
+    WRITES.computeIfAbsent(clazz, k -> new AtomicLong()).incrementAndGet();
+    if (FULLY_LOADED.contains(clazz)) {
+      EVICTED_IDS.computeIfAbsent(clazz, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+    Map<Object, Object> entityMap = CACHE.get(clazz);
+    Object entity = entityMap != null ? entityMap.remove(id) : null;
+    advanceGeneration(clazz);
+    if (entity == null) return;
+
+    COLUMN_EXTRACTORS
+        .getOrDefault(clazz, Collections.emptyMap())
+        .forEach(
+            (columnName, extractor) ->
+                evictFromColumn(clazz, columnName, extractor.apply(entity), entity));
+
+    hoarderLogger.debug(
+        HoarderCache.class,
+        "Evicted entity {} from cache for class: {}",
+        id,
+        clazz.getSimpleName());
   }
 
   public boolean isCached(Class<?> clazz) {
@@ -130,15 +413,146 @@ public class HoarderCache {
         .orElse(false);
   }
 
+  public boolean isSortedColumnCached(Class<?> clazz, String columnName) {
+    return getSortedColumnMap(clazz, columnName).isPresent();
+  }
+
+  public boolean isNormalizedColumnCached(Class<?> clazz, String columnName) {
+    return getNormalizedColumnMap(clazz, columnName).isPresent();
+  }
+
+  public String normalize(String value) {
+    // Same folding as the upper() calls Spring Data emits for IgnoreCase queries
+    return value.toUpperCase(Locale.ROOT);
+  }
+
+  public boolean hasNullValues(Class<?> clazz, String columnName) {
+    return COLUMNS_WITH_NULLS.getOrDefault(clazz, Collections.emptySet()).contains(columnName);
+  }
+
+  public void registerIdProperty(Class<?> clazz, String idProperty) {
+    ID_PROPERTIES.put(clazz, idProperty);
+  }
+
+  public Optional<String> getIdProperty(Class<?> clazz) {
+    return Optional.ofNullable(ID_PROPERTIES.get(clazz));
+  }
+
+  // Kept so single rows can later be removed from their buckets. Empty column indexes are
+  // created up front, so entities loaded later or never can cache single-row lookups.
+  public void registerColumnExtractors(
+      Class<?> clazz, Map<String, Function<Object, Object>> columnExtractors) {
+    COLUMN_EXTRACTORS
+        .computeIfAbsent(clazz, k -> new ConcurrentHashMap<>())
+        .putAll(columnExtractors);
+    Map<String, Map<Object, List<Object>>> classColumnCache =
+        COLUMN_CACHE.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>());
+    for (String columnName : columnExtractors.keySet()) {
+      classColumnCache.computeIfAbsent(columnName, k -> new ConcurrentHashMap<>());
+    }
+  }
+
+  public void registerLoadTrigger(Class<?> clazz, Runnable trigger) {
+    LOAD_TRIGGERS.put(clazz, trigger);
+  }
+
+  public boolean hasPendingLoad(Class<?> clazz) {
+    return LOAD_TRIGGERS.containsKey(clazz);
+  }
+
+  // Runs the pending load of an entity once, on the first access after it was registered
+  public void onAccess(Class<?> clazz) {
+    if (LOAD_TRIGGERS.isEmpty()) return;
+
+    Runnable trigger = LOAD_TRIGGERS.remove(clazz);
+    if (trigger != null) {
+      trigger.run();
+    }
+  }
+
+  public long getGeneration(Class<?> clazz) {
+    return GENERATIONS.computeIfAbsent(clazz, k -> new AtomicLong()).get();
+  }
+
+  // Called for writes through repositories. The cached rows are left untouched, so they no longer
+  // describe the whole table and negative answers and counts go to the database until a reload.
+  public void recordWrite(Class<?> clazz) {
+    WRITES.computeIfAbsent(clazz, k -> new AtomicLong()).incrementAndGet();
+    FULLY_LOADED.remove(clazz);
+    advanceGeneration(clazz);
+    hoarderLogger.trace(HoarderCache.class, "Recorded write to {}", clazz.getSimpleName());
+  }
+
+  private void advanceGeneration(Class<?> clazz) {
+    GENERATIONS.computeIfAbsent(clazz, k -> new AtomicLong()).incrementAndGet();
+  }
+
+  public void registerProjection(Class<?> clazz, Class<?> projectionClass) {
+    PROJECTIONS.put(clazz, projectionClass);
+  }
+
+  public boolean isProjected(Class<?> clazz) {
+    return PROJECTIONS.containsKey(clazz);
+  }
+
+  // The type of the values actually held for an entity: its projection record or the entity
+  public Class<?> getCachedType(Class<?> clazz) {
+    return PROJECTIONS.getOrDefault(clazz, clazz);
+  }
+
+  public HitPolicy getHitPolicy(Class<?> clazz) {
+    Hoarded hoarded = clazz.getAnnotation(Hoarded.class);
+    if (hoarded != null && hoarded.hitPolicy() != HitPolicy.DEFAULT) {
+      return hoarded.hitPolicy();
+    }
+    return properties.getCache().getHitPolicy();
+  }
+
+  public void markFullyLoaded(Class<?> clazz) {
+    EVICTED_IDS.remove(clazz);
+    FULLY_LOADED.add(clazz);
+  }
+
+  public long getWriteCount(Class<?> clazz) {
+    return WRITES.computeIfAbsent(clazz, k -> new AtomicLong()).get();
+  }
+
+  // Marks the entity complete unless a write was recorded after the load started. Checked after
+  // the mark, so a concurrent recordWrite always wins.
+  public void markFullyLoaded(Class<?> clazz, long writesBeforeLoad) {
+    EVICTED_IDS.remove(clazz);
+    FULLY_LOADED.add(clazz);
+    if (getWriteCount(clazz) != writesBeforeLoad) {
+      FULLY_LOADED.remove(clazz);
+    }
+  }
+
+  public boolean isFullyLoaded(Class<?> clazz) {
+    return FULLY_LOADED.contains(clazz)
+        && EVICTED_IDS.getOrDefault(clazz, Collections.emptySet()).isEmpty();
+  }
+
   public void clear() {
     CACHE.clear();
     COLUMN_CACHE.clear();
+    SORTED_COLUMN_CACHE.clear();
+    NORMALIZED_COLUMN_CACHE.clear();
+    COLUMNS_WITH_NULLS.clear();
+    FULLY_LOADED.clear();
+    EVICTED_IDS.clear();
+    GENERATIONS.values().forEach(AtomicLong::incrementAndGet);
     hoarderLogger.info(HoarderCache.class, "Cleared all cached entities");
   }
 
   public void clearForEntity(Class<?> clazz) {
     Map<Object, Object> entityMap = CACHE.remove(clazz);
     Map<String, Map<Object, List<Object>>> columnMap = COLUMN_CACHE.remove(clazz);
+    SORTED_COLUMN_CACHE.remove(clazz);
+    NORMALIZED_COLUMN_CACHE.remove(clazz);
+    COLUMNS_WITH_NULLS.remove(clazz);
+    FULLY_LOADED.remove(clazz);
+    EVICTED_IDS.remove(clazz);
+    advanceGeneration(clazz);
 
     int clearedEntities = entityMap != null ? entityMap.size() : 0;
     int clearedColumns = columnMap != null ? columnMap.size() : 0;
@@ -225,6 +639,63 @@ public class HoarderCache {
         .map(classCache -> classCache.get(columnName));
   }
 
+  private void evictFromColumn(Class<?> clazz, String columnName, Object value, Object entity) {
+    if (value == null) return;
+
+    // Buckets are replaced rather than mutated since readers iterate them without locking
+    getColumnMap(clazz, columnName)
+        .ifPresent(
+            columnMap -> {
+              List<Object> bucket = columnMap.get(value);
+              if (bucket == null) return;
+              List<Object> remaining = without(bucket, entity);
+              Optional<NavigableMap<Object, List<Object>>> sortedMap =
+                  getSortedColumnMap(clazz, columnName);
+              if (remaining.isEmpty()) {
+                columnMap.remove(value);
+                sortedMap.ifPresent(map -> map.remove(value));
+              } else {
+                columnMap.put(value, remaining);
+                sortedMap.ifPresent(map -> map.put(value, remaining));
+              }
+            });
+    if (value instanceof String stringValue) {
+      getNormalizedColumnMap(clazz, columnName)
+          .ifPresent(
+              normalizedMap ->
+                  normalizedMap.computeIfPresent(
+                      normalize(stringValue),
+                      (key, bucket) -> {
+                        List<Object> remaining = without(bucket, entity);
+                        return remaining.isEmpty() ? null : remaining;
+                      }));
+    }
+  }
+
+  private List<Object> with(List<Object> bucket, Object entity) {
+    List<Object> extended = bucket != null ? new ArrayList<>(bucket) : new ArrayList<>(1);
+    extended.add(entity);
+    return extended;
+  }
+
+  private List<Object> without(List<Object> bucket, Object entity) {
+    List<Object> remaining = new ArrayList<>(bucket);
+    remaining.removeIf(candidate -> candidate == entity);
+    return remaining;
+  }
+
+  private Optional<NavigableMap<String, List<Object>>> getNormalizedColumnMap(
+      Class<?> clazz, String columnName) {
+    return Optional.ofNullable(NORMALIZED_COLUMN_CACHE.get(clazz))
+        .map(classCache -> classCache.get(columnName));
+  }
+
+  private Optional<NavigableMap<Object, List<Object>>> getSortedColumnMap(
+      Class<?> clazz, String columnName) {
+    return Optional.ofNullable(SORTED_COLUMN_CACHE.get(clazz))
+        .map(classCache -> classCache.get(columnName));
+  }
+
   public void getCacheSize() {
     cacheAnalyzer.printCacheSizes();
     hoarderLogger.info(HoarderCache.class, "Cache size analysis completed.");
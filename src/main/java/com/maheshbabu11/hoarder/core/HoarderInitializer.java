@@ -1,20 +1,48 @@
 package com.maheshbabu11.hoarder.core;
 
 import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.annotation.HoardedAssociation;
 import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.IndexType;
+import com.maheshbabu11.hoarder.annotation.LoadMode;
 import com.maheshbabu11.hoarder.config.HoarderProperties;
 import com.maheshbabu11.hoarder.util.HoarderLogger;
+import com.maheshbabu11.hoarder.util.PropertyAccessors;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
 import jakarta.persistence.Query;
-import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 @ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
@@ -24,16 +52,46 @@ public class HoarderInitializer {
   private final HoarderCache hoarderCache;
   private final HoarderProperties hoarderProperties;
   private final HoarderLogger hoarderLogger;
+  private final HotSetTracker hotSetTracker;
+  private final HoardedEntityRegistry hoardedEntityRegistry;
+  private final BeanFactory beanFactory;
+  private final ScanThrottle scanThrottle;
+  private volatile EntityManagerFactory scanFactory;
+  // Runs the full loads of ON_FIRST_ACCESS_FULL entities off the calling thread
+  private final ExecutorService backgroundLoader =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "hoarder-loader");
+            thread.setDaemon(true);
+            return thread;
+          });
+  // Runs the jittered initial preload and the periodic refresh
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "hoarder-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
 
   public HoarderInitializer(
       EntityManager entityManager,
       HoarderCache hoarderCache,
       HoarderProperties hoarderProperties,
-      HoarderLogger hoarderLogger) {
+      HoarderLogger hoarderLogger,
+      HotSetTracker hotSetTracker,
+      HoardedEntityRegistry hoardedEntityRegistry,
+      BeanFactory beanFactory) {
     this.entityManager = entityManager;
     this.hoarderCache = hoarderCache;
     this.hoarderProperties = hoarderProperties;
     this.hoarderLogger = hoarderLogger;
+    this.hotSetTracker = hotSetTracker;
+    this.hoardedEntityRegistry = hoardedEntityRegistry;
+    this.beanFactory = beanFactory;
+    HoarderProperties.Cache.Preload preload = hoarderProperties.getCache().getPreload();
+    this.scanThrottle =
+        new ScanThrottle(preload.getMaxConcurrentScans(), preload.getMaxRowsPerSecond());
   }
 
   @PostConstruct
@@ -46,32 +104,71 @@ public class HoarderInitializer {
 
     hoarderLogger.info(HoarderInitializer.class, "Starting Hoarder cache initialization...");
 
-    Set<EntityType<?>> entityTypes = entityManager.getMetamodel().getEntities();
     int totalEntitiesProcessed = 0;
     int totalRecordsCached = 0;
+    List<Class<?>> eagerEntities = new ArrayList<>();
+
+    for (Class<?> entityClass : hoardedEntityRegistry.getHoardedEntities()) {
+      LoadMode loadMode = entityClass.getAnnotation(Hoarded.class).loadMode();
+      if (loadMode == LoadMode.HOT_SET) {
+        totalRecordsCached += loadHotSetEntity(entityClass);
+        totalEntitiesProcessed++;
+        continue;
+      }
+      if (loadMode != LoadMode.EAGER) {
+        registerDeferredEntity(entityClass, loadMode);
+        continue;
+      }
+      eagerEntities.add(entityClass);
+    }
 
-    for (EntityType<?> entityType : entityTypes) {
-      Class<?> entityClass = entityType.getJavaType();
+    long jitterMillis = randomJitterMillis();
+    if (jitterMillis > 0) {
+      // Registered now so lookups during the delay see the same cached type as after the load
+      eagerEntities.forEach(entityClass -> registerDeferredEntity(entityClass, LoadMode.EAGER));
+      hoarderLogger.info(
+          HoarderInitializer.class,
+          "Delaying preload of {} entities by {} ms",
+          eagerEntities.size(),
+          jitterMillis);
+      int hotSetEntities = totalEntitiesProcessed;
+      int hotSetRecords = totalRecordsCached;
+      scheduler.schedule(
+          () -> loadEagerEntities(eagerEntities, hotSetEntities, hotSetRecords),
+          jitterMillis,
+          TimeUnit.MILLISECONDS);
+    } else {
+      loadEagerEntities(eagerEntities, totalEntitiesProcessed, totalRecordsCached);
+    }
+    scheduleRefresh();
+  }
 
-      if (entityClass.isAnnotationPresent(Hoarded.class)) {
-        try {
-          int recordsProcessed = loadAndCacheEntity(entityClass);
-          totalEntitiesProcessed++;
-          totalRecordsCached += recordsProcessed;
+  @PreDestroy
+  public void shutdown() {
+    backgroundLoader.shutdownNow();
+    scheduler.shutdownNow();
+  }
 
-          hoarderLogger.info(
-              HoarderInitializer.class,
-              "Loaded {} records for entity: {}",
-              recordsProcessed,
-              entityClass.getSimpleName());
+  private void loadEagerEntities(
+      List<Class<?>> eagerEntities, int totalEntitiesProcessed, int totalRecordsCached) {
+    for (Class<?> entityClass : eagerEntities) {
+      try {
+        int recordsProcessed = loadAndCacheEntity(entityClass, false);
+        totalEntitiesProcessed++;
+        totalRecordsCached += recordsProcessed;
 
-        } catch (Exception e) {
-          hoarderLogger.error(
-              HoarderInitializer.class,
-              "Failed to load entity {}: {}",
-              entityClass.getSimpleName(),
-              e.getMessage());
-        }
+        hoarderLogger.info(
+            HoarderInitializer.class,
+            "Loaded {} records for entity: {}",
+            recordsProcessed,
+            entityClass.getSimpleName());
+
+      } catch (Exception e) {
+        hoarderLogger.error(
+            HoarderInitializer.class,
+            "Failed to load entity {}: {}",
+            entityClass.getSimpleName(),
+            e.getMessage());
       }
     }
 
@@ -82,122 +179,416 @@ public class HoarderInitializer {
         totalRecordsCached);
   }
 
-  private int loadAndCacheEntity(Class<?> entityClass) {
+  private void scheduleRefresh() {
+    HoarderProperties.Cache.Refresh refresh = hoarderProperties.getCache().getRefresh();
+    if (!refresh.isEnabled()) {
+      return;
+    }
+    long intervalMillis = TimeUnit.MINUTES.toMillis(Math.max(1, refresh.getIntervalMinutes()));
+    long delayMillis = TimeUnit.MINUTES.toMillis(refresh.getDelayMinutes()) + randomJitterMillis();
+    scheduler.scheduleWithFixedDelay(
+        this::refreshEntities, delayMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    hoarderLogger.info(
+        HoarderInitializer.class,
+        "Scheduled cache refresh every {} minutes, first in {} ms",
+        refresh.getIntervalMinutes(),
+        delayMillis);
+  }
+
+  // Entities that are loaded whole are rescanned, even after an eviction or a write dropped their
+  // fully loaded mark. LAZY and HOT_SET entities and full loads still waiting for their first
+  // access are left as they are.
+  private void refreshEntities() {
+    for (Class<?> entityClass : hoardedEntityRegistry.getHoardedEntities()) {
+      LoadMode loadMode = entityClass.getAnnotation(Hoarded.class).loadMode();
+      if ((loadMode != LoadMode.EAGER && loadMode != LoadMode.ON_FIRST_ACCESS_FULL)
+          || hoarderCache.hasPendingLoad(entityClass)) {
+        continue;
+      }
+      try {
+        int recordsProcessed = loadAndCacheEntity(entityClass, true);
+        hoarderLogger.info(
+            HoarderInitializer.class,
+            "Refreshed {} records for entity: {}",
+            recordsProcessed,
+            entityClass.getSimpleName());
+      } catch (Exception e) {
+        hoarderLogger.error(
+            HoarderInitializer.class,
+            "Failed to refresh entity {}: {}",
+            entityClass.getSimpleName(),
+            e.getMessage());
+      }
+    }
+  }
+
+  // Spreads the scans of a fleet restarted at once over the configured window
+  private long randomJitterMillis() {
+    long jitterSeconds = hoarderProperties.getCache().getPreload().getStartJitterSeconds();
+    if (jitterSeconds <= 0) {
+      return 0;
+    }
+    return ThreadLocalRandom.current().nextLong(TimeUnit.SECONDS.toMillis(jitterSeconds) + 1);
+  }
+
+  private void registerDeferredEntity(Class<?> entityClass, LoadMode loadMode) {
+    Class<?> projectionClass = getProjectionClass(entityClass);
+    boolean projected = projectionClass != void.class;
+
+    // Rows cached from misses are full entities, so a projection needs rows loaded up front
+    if (projected && loadMode == LoadMode.LAZY) {
+      hoarderLogger.warn(
+          HoarderInitializer.class,
+          "Projection of entity {} is ignored in LAZY load mode",
+          entityClass.getSimpleName());
+      projected = false;
+    }
+    Class<?> recordClass = projected ? projectionClass : entityClass;
+    if (projected) {
+      hoarderCache.registerProjection(entityClass, projectionClass);
+    }
+    resolveIdExtractor(entityClass, recordClass);
+    hoarderCache.registerColumnExtractors(
+        entityClass, resolveColumnExtractors(entityClass, recordClass));
+
+    if (loadMode == LoadMode.ON_FIRST_ACCESS_FULL) {
+      hoarderCache.registerLoadTrigger(entityClass, () -> loadInBackground(entityClass));
+    }
+    hoarderLogger.info(
+        HoarderInitializer.class,
+        "Deferred loading of entity {} with load mode {}",
+        entityClass.getSimpleName(),
+        loadMode);
+  }
+
+  private int loadHotSetEntity(Class<?> entityClass) {
+    registerDeferredEntity(entityClass, LoadMode.HOT_SET);
+    Class<?> idType =
+        entityManager.getMetamodel().entity(entityClass).getIdType().getJavaType();
+    List<Object> hotKeys =
+        hotSetTracker.track(entityClass, ClassUtils.resolvePrimitiveIfNecessary(idType));
+    try {
+      int recordsProcessed = loadHotSet(entityClass, hotKeys);
+      hoarderLogger.info(
+          HoarderInitializer.class,
+          "Loaded {} of {} hot records for entity: {}",
+          recordsProcessed,
+          hotKeys.size(),
+          entityClass.getSimpleName());
+      return recordsProcessed;
+    } catch (Exception e) {
+      hoarderLogger.error(
+          HoarderInitializer.class,
+          "Failed to load hot set of entity {}: {}",
+          entityClass.getSimpleName(),
+          e.getMessage());
+      return 0;
+    }
+  }
+
+  private void loadInBackground(Class<?> entityClass) {
+    hoarderLogger.info(
+        HoarderInitializer.class,
+        "First access to entity {}, loading it in the background",
+        entityClass.getSimpleName());
+    backgroundLoader.execute(
+        () -> {
+          try {
+            int recordsProcessed = loadAndCacheEntity(entityClass, false);
+            hoarderLogger.info(
+                HoarderInitializer.class,
+                "Loaded {} records for entity: {}",
+                recordsProcessed,
+                entityClass.getSimpleName());
+          } catch (Exception e) {
+            hoarderLogger.error(
+                HoarderInitializer.class,
+                "Failed to load entity {}: {}",
+                entityClass.getSimpleName(),
+                e.getMessage());
+            // Retried on the next access
+            hoarderCache.registerLoadTrigger(entityClass, () -> loadInBackground(entityClass));
+          }
+        });
+  }
+
+  // Loads a whole table on demand, e.g. for an entity promoted without @Hoarded
+  public int loadEntity(Class<?> entityClass) {
+    return loadAndCacheEntity(entityClass, false);
+  }
+
+  public long countRows(Class<?> entityClass) {
+    String jpql = "SELECT COUNT(e) FROM " + entityClass.getSimpleName() + " e";
+    return scanThrottle.scan(
+        () -> {
+          EntityManager loader = getScanFactory().createEntityManager();
+          try {
+            return loader.createQuery(jpql, Long.class).getSingleResult();
+          } finally {
+            loader.close();
+          }
+        });
+  }
+
+  private int loadAndCacheEntity(Class<?> entityClass, boolean replace) {
     String entityName = entityClass.getSimpleName();
+    Class<?> projectionClass = getProjectionClass(entityClass);
+    boolean projected = projectionClass != void.class;
+    Class<?> recordClass = projected ? projectionClass : entityClass;
+
+    // Single query to fetch all records, as compact projection rows when one is declared
+    long writesBeforeLoad = hoarderCache.getWriteCount(entityClass);
+    List<?> records = fetchRecords(entityClass, projectionClass, null, null);
 
-    // Single query to fetch all records
-    String jpql = "SELECT e FROM " + entityName + " e";
-    Query query = entityManager.createQuery(jpql, entityClass);
-    List<?> records = query.getResultList();
+    if (projected) {
+      hoarderCache.registerProjection(entityClass, projectionClass);
+    }
 
-    if (records.isEmpty()) {
+    if (records.isEmpty() && !replace) {
       hoarderLogger.debug(HoarderInitializer.class, "No records found for entity: {}", entityName);
+      hoarderCache.markFullyLoaded(entityClass, writesBeforeLoad);
       return 0;
     }
 
-    // Cache by ID (primary key)
-    cacheById(entityClass, records);
+    // Cache by ID (primary key) and by all annotated columns in one pass
+    cacheRecords(entityClass, recordClass, records, replace);
 
-    // Cache by all available columns
-    cacheByColumns(entityClass, records);
+    // Every row is now in memory, so range and ordered queries can be answered from the cache
+    hoarderCache.markFullyLoaded(entityClass, writesBeforeLoad);
 
     return records.size();
   }
 
-  private void cacheById(Class<?> entityClass, List<?> records) {
+  private int loadHotSet(Class<?> entityClass, List<Object> hotKeys) {
+    Class<?> projectionClass = getProjectionClass(entityClass);
+    Class<?> recordClass = projectionClass != void.class ? projectionClass : entityClass;
+    String idProperty = hoarderCache.getIdProperty(entityClass).orElse(null);
+    if (idProperty == null || hotKeys.isEmpty()) {
+      return 0;
+    }
+
+    // Keys are fetched in bounded IN lists, the entity is never marked fully loaded
+    int batchSize = Math.max(1, hoarderProperties.getCache().getHotSet().getBatchSize());
+    List<Object> records = new ArrayList<>(hotKeys.size());
+    for (int from = 0; from < hotKeys.size(); from += batchSize) {
+      List<Object> batch = hotKeys.subList(from, Math.min(from + batchSize, hotKeys.size()));
+      records.addAll(fetchRecords(entityClass, projectionClass, idProperty, batch));
+    }
+
+    if (!records.isEmpty()) {
+      cacheRecords(entityClass, recordClass, records, false);
+    }
+    return records.size();
+  }
+
+  private List<?> fetchRecords(
+      Class<?> entityClass, Class<?> projectionClass, String idProperty, List<Object> ids) {
+    String entityName = entityClass.getSimpleName();
+    boolean projected = projectionClass != void.class;
+    String jpql =
+        projected
+            ? buildProjectionQuery(entityName, projectionClass)
+            : "SELECT e FROM " + entityName + " e";
+    if (ids != null) {
+      jpql += " WHERE e." + idProperty + " IN :ids";
+    }
+    Class<?> recordClass = projected ? projectionClass : entityClass;
+    String queryString = jpql;
+    return scanThrottle.scan(
+        () -> runQuery(entityClass, recordClass, queryString, ids, projected));
+  }
+
+  private List<?> runQuery(
+      Class<?> entityClass,
+      Class<?> recordClass,
+      String jpql,
+      List<Object> ids,
+      boolean projected) {
+    // A dedicated EntityManager, closed once loading is done, leaves every cached entity detached
+    EntityManager loader = getScanFactory().createEntityManager();
     try {
-      // Find the ID field/method
-      Method idGetter = findIdGetter(entityClass);
+      Query query = loader.createQuery(jpql, recordClass);
+      query.setHint(HibernateHints.HINT_READ_ONLY, true);
+      if (ids != null) {
+        query.setParameter("ids", ids);
+      }
+      if (!projected) {
+        applyAssociationGraph(loader, entityClass, query);
+      }
+      List<?> records = readResults(query);
+      if (!projected) {
+        initializeAssociations(entityClass, records);
+      }
+      return records;
+    } finally {
+      loader.close();
+    }
+  }
 
-      if (idGetter != null) {
-        hoarderCache.preload(
-            entityClass,
-            records,
-            record -> {
-              try {
-                return idGetter.invoke(record);
-              } catch (Exception e) {
-                hoarderLogger.warn(
-                    HoarderInitializer.class,
-                    "Failed to extract ID from entity {}: {}",
-                    entityClass.getSimpleName(),
-                    e.getMessage());
-                return null;
-              }
-            });
-
-        hoarderLogger.debug(
-            HoarderInitializer.class,
-            "Cached {} records by ID for entity: {}",
-            records.size(),
-            entityClass.getSimpleName());
+  private List<?> readResults(Query query) {
+    if (!scanThrottle.isRateLimited()) {
+      return query.getResultList();
+    }
+
+    // Rows are streamed and the scan pauses whenever it gets ahead of the configured rate
+    int fetchSize = Math.max(1, hoarderProperties.getCache().getPreload().getFetchSize());
+    query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+    List<Object> records = new ArrayList<>();
+    try (Stream<?> rows = query.getResultStream()) {
+      Iterator<?> iterator = rows.iterator();
+      int pending = 0;
+      while (iterator.hasNext()) {
+        records.add(iterator.next());
+        if (++pending == fetchSize) {
+          scanThrottle.acquireRows(pending);
+          pending = 0;
+        }
+      }
+      scanThrottle.acquireRows(pending);
+    }
+    return records;
+  }
+
+  // The factory configured for preload scans, e.g. a read replica, or the application's own
+  private EntityManagerFactory getScanFactory() {
+    EntityManagerFactory factory = scanFactory;
+    if (factory == null) {
+      String beanName = hoarderProperties.getCache().getPreload().getEntityManagerFactory();
+      factory =
+          beanName == null || beanName.isBlank()
+              ? entityManager.getEntityManagerFactory()
+              : beanFactory.getBean(beanName, EntityManagerFactory.class);
+      scanFactory = factory;
+    }
+    return factory;
+  }
+
+  private void applyAssociationGraph(EntityManager loader, Class<?> entityClass, Query query) {
+    String[] associations =
+        getHierarchyFields(entityClass).stream()
+            .filter(
+                field ->
+                    field.isAnnotationPresent(HoardedAssociation.class)
+                        || (isToOneAssociation(field) && !getNestedPaths(field).isEmpty()))
+            .map(Field::getName)
+            .toArray(String[]::new);
+    if (associations.length == 0) {
+      return;
+    }
+
+    // Fetch the marked associations with the rows instead of one lazy load per entity
+    EntityGraph<?> graph = loader.createEntityGraph(entityClass);
+    graph.addAttributeNodes(associations);
+    query.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, graph);
+  }
+
+  private void initializeAssociations(Class<?> entityClass, List<?> records) {
+    Set<String> paths = new LinkedHashSet<>();
+    for (Field field : getHierarchyFields(entityClass)) {
+      if (field.isAnnotationPresent(HoardedAssociation.class)) {
+        paths.add(field.getName());
+      }
+      paths.addAll(getNestedPaths(field));
+    }
+
+    for (String path : paths) {
+      Function<Object, Object> accessor = PropertyAccessors.forPath(entityClass, path);
+      if (accessor == null) {
+        continue;
+      }
+      // No-op for associations already fetched through the load graph
+      records.forEach(record -> Hibernate.initialize(accessor.apply(record)));
+      hoarderLogger.trace(
+          HoarderInitializer.class,
+          "Initialized association '{}' for entity: {}",
+          path,
+          entityClass.getSimpleName());
+    }
+  }
+
+  // Every step a @HoardedColumn path walks through, which must be loaded before indexing
+  private List<String> getNestedPaths(Field field) {
+    HoardedColumn hoardedColumn = field.getAnnotation(HoardedColumn.class);
+    if (hoardedColumn == null
+        || hoardedColumn.path().isEmpty()
+        || hoardedColumn.path().equals(getAssociationIdProperty(field))) {
+      return List.of();
+    }
+
+    List<String> paths = new ArrayList<>();
+    String path = field.getName();
+    paths.add(path);
+    String[] segments = hoardedColumn.path().split("\\.");
+    for (int i = 0; i < segments.length - 1; i++) {
+      path += "." + segments[i];
+      paths.add(path);
+    }
+    return paths;
+  }
+
+  private String buildProjectionQuery(String entityName, Class<?> projectionClass) {
+    if (!projectionClass.isRecord()) {
+      throw new IllegalArgumentException(
+          "Projection " + projectionClass.getSimpleName() + " must be a record");
+    }
+
+    // Record components are matched to entity attributes by name
+    String selection =
+        Arrays.stream(projectionClass.getRecordComponents())
+            .map(component -> "e." + component.getName())
+            .collect(Collectors.joining(", "));
+    return "SELECT new "
+        + projectionClass.getName()
+        + "("
+        + selection
+        + ") FROM "
+        + entityName
+        + " e";
+  }
+
+  private void cacheRecords(
+      Class<?> entityClass, Class<?> recordClass, List<?> records, boolean replace) {
+    Function<Object, Object> idExtractor = resolveIdExtractor(entityClass, recordClass);
+    Map<String, Function<Object, Object>> columnExtractors =
+        resolveColumnExtractors(entityClass, recordClass);
+
+    try {
+      if (replace) {
+        hoarderCache.reload(entityClass, records, idExtractor, columnExtractors);
+      } else {
+        hoarderCache.preloadIndexes(entityClass, records, idExtractor, columnExtractors);
       }
     } catch (Exception e) {
       hoarderLogger.warn(
           HoarderInitializer.class,
-          "Failed to cache by ID for entity {}: {}",
+          "Failed to build indexes for entity {}: {}",
           entityClass.getSimpleName(),
           e.getMessage());
+      return;
     }
-  }
-
-  private void cacheByColumns(Class<?> entityClass, List<?> records) {
-    Field[] fields = entityClass.getDeclaredFields();
-    int columnsCached = 0;
 
-    for (Field field : fields) {
+    // Sorted and case-folded indexes are derived from the hash buckets, not from the rows
+    for (String columnName : columnExtractors.keySet()) {
       try {
-        String fieldName = field.getName();
-        // Skip ID field as it's already cached
-        if (isIdField(field)) {
-          continue;
+        // Path columns are named after the annotated field followed by the path
+        String fieldName = columnName.split("\\.", 2)[0];
+        HoardedColumn hoardedColumn =
+            getHierarchyFields(entityClass).stream()
+                .filter(field -> field.getName().equals(fieldName))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchFieldException(fieldName))
+                .getAnnotation(HoardedColumn.class);
+        if (hoardedColumn.index() == IndexType.SORTED) {
+          hoarderCache.preloadSortedByColumn(entityClass, columnName);
         }
-
-        // Only cache fields annotated with @HoardedColumn
-        if (!field.isAnnotationPresent(HoardedColumn.class)) {
-          continue;
+        if (hoardedColumn.ignoreCase()) {
+          hoarderCache.preloadNormalizedByColumn(entityClass, columnName);
         }
-
-        String getterName = "get" + capitalize(fieldName);
-        Method getter = entityClass.getMethod(getterName);
-
-        hoarderCache.preloadByColumn(
-            entityClass,
-            fieldName,
-            records,
-            record -> {
-              try {
-                return getter.invoke(record);
-              } catch (Exception e) {
-                hoarderLogger.trace(
-                    HoarderInitializer.class,
-                    "Failed to extract value for field {} from entity {}: {}",
-                    fieldName,
-                    entityClass.getSimpleName(),
-                    e.getMessage());
-                return null;
-              }
-            });
-
-        columnsCached++;
-        hoarderLogger.trace(
-            HoarderInitializer.class,
-            "Cached {} records by column '{}' for entity: {}",
-            records.size(),
-            fieldName,
-            entityClass.getSimpleName());
-
-      } catch (NoSuchMethodException e) {
-        hoarderLogger.trace(
-            HoarderInitializer.class,
-            "No getter found for field '{}' in entity: {}",
-            field.getName(),
-            entityClass.getSimpleName());
       } catch (Exception e) {
         hoarderLogger.warn(
             HoarderInitializer.class,
             "Failed to cache by column '{}' for entity {}: {}",
-            field.getName(),
+            columnName,
             entityClass.getSimpleName(),
             e.getMessage());
       }
@@ -205,39 +596,185 @@ public class HoarderInitializer {
 
     hoarderLogger.debug(
         HoarderInitializer.class,
-        "Cached {} columns for entity: {}",
-        columnsCached,
+        "Cached {} records by ID and {} columns for entity: {}",
+        records.size(),
+        columnExtractors.size(),
         entityClass.getSimpleName());
   }
 
-  private Method findIdGetter(Class<?> entityClass) {
-    // Try to find @Id annotated field and its getter
-    for (Field field : entityClass.getDeclaredFields()) {
-      if (isIdField(field)) {
-        try {
-          String getterName = "get" + capitalize(field.getName());
-          return entityClass.getMethod(getterName);
-        } catch (NoSuchMethodException e) {
-          hoarderLogger.debug(
+  private Function<Object, Object> resolveIdExtractor(Class<?> entityClass, Class<?> recordClass) {
+    // Accessors generated at build time replace the reflective lookup for the entity itself
+    Optional<HoardedEntityDescriptor> descriptor =
+        hoardedEntityRegistry.getDescriptor(entityClass).filter(d -> recordClass == entityClass);
+    String idProperty;
+    Function<Object, Object> idAccessor;
+    if (descriptor.isPresent() && descriptor.get().idAccessor() != null) {
+      idProperty = descriptor.get().idProperty();
+      idAccessor = descriptor.get().idAccessor();
+    } else {
+      // Find the ID field/method
+      Field idField = findIdField(entityClass);
+      idProperty = idField != null ? idField.getName() : null;
+      idAccessor = idField != null ? PropertyAccessors.forPath(recordClass, idProperty) : null;
+    }
+    if (idProperty == null || idAccessor == null) {
+      hoarderLogger.debug(
+          HoarderInitializer.class,
+          "No ID accessor found for entity: {}",
+          entityClass.getSimpleName());
+      return null;
+    }
+
+    hoarderCache.registerIdProperty(entityClass, idProperty);
+    Function<Object, Object> accessor = idAccessor;
+    return record -> {
+      try {
+        return accessor.apply(record);
+      } catch (Exception e) {
+        hoarderLogger.warn(
+            HoarderInitializer.class,
+            "Failed to extract ID from entity {}: {}",
+            entityClass.getSimpleName(),
+            e.getMessage());
+        return null;
+      }
+    };
+  }
+
+  private Map<String, Function<Object, Object>> resolveColumnExtractors(
+      Class<?> entityClass, Class<?> recordClass) {
+    Map<String, Function<Object, Object>> extractors = new LinkedHashMap<>();
+    Map<String, Function<Object, Object>> generated =
+        hoardedEntityRegistry
+            .getDescriptor(entityClass)
+            .filter(descriptor -> recordClass == entityClass)
+            .map(HoardedEntityDescriptor::columnAccessors)
+            .orElse(Map.of());
+
+    for (Field field : getHierarchyFields(entityClass)) {
+      String fieldName = field.getName();
+      // Skip ID field as it's already cached, and only cache fields annotated with @HoardedColumn
+      if (isIdField(field) || !field.isAnnotationPresent(HoardedColumn.class)) {
+        continue;
+      }
+
+      Function<Object, Object> fieldAccessor =
+          generated.containsKey(fieldName)
+              ? generated.get(fieldName)
+              : PropertyAccessors.forPath(recordClass, fieldName);
+      if (fieldAccessor == null) {
+        hoarderLogger.trace(
+            HoarderInitializer.class,
+            "No getter found for field '{}' in entity: {}",
+            fieldName,
+            entityClass.getSimpleName());
+        continue;
+      }
+
+      // Path and to-one columns are keyed by the dot path derived finders resolve to,
+      // e.g. findAllByCategoryId looks up "category.id"
+      String path = field.getAnnotation(HoardedColumn.class).path();
+      String idProperty = getAssociationIdProperty(field);
+      if (path.isEmpty() && idProperty != null) {
+        path = idProperty;
+      }
+      String columnName = path.isEmpty() ? fieldName : fieldName + "." + path;
+      Function<Object, Object> accessor = fieldAccessor;
+      if (!path.isEmpty()) {
+        Function<Object, Object> nested =
+            path.equals(idProperty)
+                ? associationIdAccessor(field.getType(), idProperty)
+                : PropertyAccessors.forPath(field.getType(), path);
+        if (nested == null) {
+          hoarderLogger.warn(
               HoarderInitializer.class,
-              "No getter found for ID field '{}' in entity: {}",
-              field.getName(),
+              "No property '{}' found for column '{}' in entity: {}",
+              path,
+              fieldName,
               entityClass.getSimpleName());
+          continue;
         }
+        accessor =
+            record -> {
+              Object owner = fieldAccessor.apply(record);
+              return owner != null ? nested.apply(owner) : null;
+            };
+      }
+
+      Function<Object, Object> columnAccessor = accessor;
+      extractors.put(
+          columnName,
+          record -> {
+            try {
+              return columnAccessor.apply(record);
+            } catch (Exception e) {
+              hoarderLogger.trace(
+                  HoarderInitializer.class,
+                  "Failed to extract value for column {} from entity {}: {}",
+                  columnName,
+                  entityClass.getSimpleName(),
+                  e.getMessage());
+              return null;
+            }
+          });
+    }
+    return extractors;
+  }
+
+  // Reads the ID straight from an uninitialized proxy, so indexing never loads the associated row
+  private Function<Object, Object> associationIdAccessor(Class<?> targetClass, String idProperty) {
+    Function<Object, Object> idAccessor = PropertyAccessors.forPath(targetClass, idProperty);
+    if (idAccessor == null) {
+      return null;
+    }
+    return associated ->
+        associated instanceof HibernateProxy proxy
+            ? proxy.getHibernateLazyInitializer().getIdentifier()
+            : idAccessor.apply(associated);
+  }
+
+  private String getAssociationIdProperty(Field field) {
+    if (!isToOneAssociation(field)) {
+      return null;
+    }
+    Field idField = findIdField(field.getType());
+    return idField != null ? idField.getName() : null;
+  }
+
+  private boolean isToOneAssociation(Field field) {
+    return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class);
+  }
+
+  // Entities promoted at runtime carry no @Hoarded and are cached as they are
+  private static Class<?> getProjectionClass(Class<?> entityClass) {
+    Hoarded hoarded = entityClass.getAnnotation(Hoarded.class);
+    return hoarded != null ? hoarded.projection() : void.class;
+  }
+
+  private Field findIdField(Class<?> entityClass) {
+    // Try to find @Id annotated field, also on @MappedSuperclass parents
+    for (Field field : getHierarchyFields(entityClass)) {
+      if (isIdField(field)) {
+        return field;
       }
     }
     return null;
   }
 
+  // Fields of the entity followed by those inherited from its superclasses
+  private static List<Field> getHierarchyFields(Class<?> entityClass) {
+    List<Field> fields = new ArrayList<>();
+    for (Class<?> current = entityClass;
+        current != null && current != Object.class;
+        current = current.getSuperclass()) {
+      fields.addAll(Arrays.asList(current.getDeclaredFields()));
+    }
+    return fields;
+  }
+
   private boolean isIdField(Field field) {
     return field.isAnnotationPresent(jakarta.persistence.Id.class)
         || field.isAnnotationPresent(jakarta.persistence.EmbeddedId.class);
   }
 
-  private String capitalize(String str) {
-    if (str == null || str.isEmpty()) {
-      return str;
-    }
-    return str.substring(0, 1).toUpperCase() + str.substring(1);
-  }
 }
@@ -0,0 +1,152 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.cfg.spi.EntityDataCachingConfig;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.support.DomainDataRegionImpl;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class HoarderRegionFactory extends RegionFactoryTemplate {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient Supplier<HoarderCache> hoarderCache;
+  private final transient HoarderProperties.Cache.SecondLevel secondLevel;
+  private final transient HoarderLogger hoarderLogger;
+  private final transient Map<String, Optional<Class<?>>> hoardedClasses =
+      new ConcurrentHashMap<>();
+
+  public HoarderRegionFactory(
+      Supplier<HoarderCache> hoarderCache,
+      HoarderProperties.Cache.SecondLevel secondLevel,
+      HoarderLogger hoarderLogger) {
+    this.hoarderCache = hoarderCache;
+    this.secondLevel = secondLevel;
+    this.hoarderLogger = hoarderLogger;
+  }
+
+  @Override
+  public DomainDataRegion buildDomainDataRegion(
+      DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+    verifyStarted();
+    return new DomainDataRegionImpl(
+        regionConfig,
+        this,
+        createDomainDataStorageAccess(regionConfig, buildingContext),
+        getImplicitCacheKeysFactory(),
+        buildingContext) {
+      @Override
+      public EntityDataAccess generateEntityAccess(EntityDataCachingConfig entityAccessConfig) {
+        // Hoarded rows are stored as plain entities, never as the soft-lockable items that
+        // read-write and transactional access expect
+        AccessType accessType = entityAccessConfig.getAccessType();
+        if (resolveHoardedClass(entityAccessConfig.getNavigableRole().getFullPath()).isPresent()
+            && (accessType == AccessType.READ_WRITE || accessType == AccessType.TRANSACTIONAL)) {
+          return generateNonStrictReadWriteEntityAccess(entityAccessConfig);
+        }
+        return super.generateEntityAccess(entityAccessConfig);
+      }
+    };
+  }
+
+  @Override
+  protected HoarderStorageAccess createDomainDataStorageAccess(
+      DomainDataRegionConfig regionConfig, DomainDataRegionBuildingContext buildingContext) {
+    hoarderLogger.debug(
+        HoarderRegionFactory.class,
+        "Building second-level cache region: {}",
+        regionConfig.getRegionName());
+    Set<Class<?>> hoardedClasses =
+        regionConfig.getEntityCaching().stream()
+            .map(config -> resolveHoardedClass(config.getNavigableRole().getFullPath()))
+            .flatMap(Optional::stream)
+            .collect(Collectors.toSet());
+    // The region builds its keys with the enforced factory when one is configured
+    CacheKeysFactory cacheKeysFactory =
+        buildingContext.getEnforcedCacheKeysFactory() != null
+            ? buildingContext.getEnforcedCacheKeysFactory()
+            : getImplicitCacheKeysFactory();
+    return new HoarderStorageAccess(
+        this, regionConfig.getRegionName(), hoardedClasses, cacheKeysFactory, true);
+  }
+
+  @Override
+  protected StorageAccess createQueryResultsRegionStorageAccess(
+      String regionName, SessionFactoryImplementor sessionFactory) {
+    return new HoarderStorageAccess(this, regionName, Set.of(), null, true);
+  }
+
+  @Override
+  protected StorageAccess createTimestampsRegionStorageAccess(
+      String regionName, SessionFactoryImplementor sessionFactory) {
+    // A missing timestamp makes cached query results look current, so these are never evicted.
+    // There is one per table.
+    return new HoarderStorageAccess(this, regionName, Set.of(), null, false);
+  }
+
+  @Override
+  public AccessType getDefaultAccessType() {
+    return AccessType.NONSTRICT_READ_WRITE;
+  }
+
+  @Override
+  protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+    hoarderLogger.info(
+        HoarderRegionFactory.class, "Hoarder second-level cache region factory started");
+  }
+
+  @Override
+  protected void releaseFromUse() {
+    hoardedClasses.clear();
+  }
+
+  // Empty when the Hoarder cache bean is disabled or the entity's rows are not held as entities
+  Optional<HoarderCache> getHoarderCache(Class<?> entityClass) {
+    HoarderCache cache = hoarderCache.get();
+    if (cache == null || cache.isProjected(entityClass)) {
+      return Optional.empty();
+    }
+    return Optional.of(cache);
+  }
+
+  Optional<Class<?>> resolveHoardedClass(String entityName) {
+    return hoardedClasses.computeIfAbsent(
+        entityName,
+        name -> {
+          try {
+            Class<?> entityClass =
+                Class.forName(name, false, Thread.currentThread().getContextClassLoader());
+            return entityClass.isAnnotationPresent(Hoarded.class)
+                ? Optional.of(entityClass)
+                : Optional.empty();
+          } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+          }
+        });
+  }
+
+  HoarderProperties.Cache.SecondLevel getSecondLevel() {
+    return secondLevel;
+  }
+
+  HoarderLogger getHoarderLogger() {
+    return hoarderLogger;
+  }
+}
@@ -0,0 +1,255 @@
+package com.maheshbabu11.hoarder.core;
+
+import org.hibernate.cache.internal.BasicCacheKeyImplementation;
+import org.hibernate.cache.internal.CacheKeyImplementation;
+import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+class HoarderStorageAccess implements DomainDataStorageAccess {
+
+  private final HoarderRegionFactory regionFactory;
+  private final String regionName;
+  private final Set<Class<?>> hoardedClasses;
+  // Null for query and timestamp regions, which never hold entity keys
+  private final CacheKeysFactory cacheKeysFactory;
+  // Everything that is not a hoarded entity: collections, query results, timestamps. Bounded
+  // regions drop expired entries, then the least recently used ones.
+  private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+  private final boolean bounded;
+  private final AtomicLong clock = new AtomicLong();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  HoarderStorageAccess(
+      HoarderRegionFactory regionFactory,
+      String regionName,
+      Set<Class<?>> hoardedClasses,
+      CacheKeysFactory cacheKeysFactory,
+      boolean bounded) {
+    this.regionFactory = regionFactory;
+    this.regionName = regionName;
+    this.hoardedClasses = hoardedClasses;
+    this.cacheKeysFactory = cacheKeysFactory;
+    this.bounded = bounded;
+  }
+
+  @Override
+  public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+    Optional<HoardedKey> hoardedKey = resolveHoardedKey(key);
+    if (hoardedKey.isEmpty()) {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.isExpired()) {
+        entries.remove(key, entry);
+        return null;
+      }
+      entry.lastAccess = clock.incrementAndGet();
+      return entry.value;
+    }
+
+    HoardedKey resolved = hoardedKey.get();
+    resolved.cache().onAccess(resolved.entityClass());
+    return resolved
+        .cache()
+        .get(resolved.entityClass(), resolved.id())
+        .map(entity -> toCacheEntry(resolved, entity, session))
+        .orElse(null);
+  }
+
+  @Override
+  public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+    // Hoarded rows only ever come from the Hoarder cache itself
+    if (resolveHoardedKey(key).isPresent()) {
+      return;
+    }
+    long ttlSeconds = regionFactory.getSecondLevel().getTtlSeconds();
+    long expiresAt =
+        bounded && ttlSeconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds) : 0;
+    entries.put(key, new Entry(value, expiresAt, clock.incrementAndGet()));
+    if (bounded && entries.size() > regionFactory.getSecondLevel().getMaxEntries()) {
+      evictEntries();
+    }
+  }
+
+  @Override
+  public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+    evictData(key);
+  }
+
+  @Override
+  public boolean contains(Object key) {
+    return resolveHoardedKey(key)
+        .map(resolved -> resolved.cache().get(resolved.entityClass(), resolved.id()).isPresent())
+        .orElseGet(
+            () -> {
+              Entry entry = entries.get(key);
+              return entry != null && !entry.isExpired();
+            });
+  }
+
+  @Override
+  public void evictData() {
+    entries.clear();
+    // Whole-region eviction follows bulk updates and deletes, so the cached rows are stale
+    for (Class<?> entityClass : hoardedClasses) {
+      regionFactory
+          .getHoarderCache(entityClass)
+          .ifPresent(cache -> cache.clearForEntity(entityClass));
+      regionFactory
+          .getHoarderLogger()
+          .info(
+              HoarderStorageAccess.class,
+              "Region {} evicted, cleared Hoarder cache for entity: {}",
+              regionName,
+              entityClass.getSimpleName());
+    }
+  }
+
+  @Override
+  public void evictData(Object key) {
+    Optional<HoardedKey> hoardedKey = resolveHoardedKey(key);
+    if (hoardedKey.isEmpty()) {
+      entries.remove(key);
+      return;
+    }
+
+    // Only the row goes, the entity's other rows and its full load are kept
+    HoardedKey resolved = hoardedKey.get();
+    resolved.cache().evict(resolved.entityClass(), resolved.id());
+  }
+
+  @Override
+  public void release() {
+    entries.clear();
+  }
+
+  // Drops expired entries first, then the least recently used down to 90% of the limit
+  private void evictEntries() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      entries.values().removeIf(Entry::isExpired);
+      int maxEntries = regionFactory.getSecondLevel().getMaxEntries();
+      int excess = entries.size() - maxEntries * 9 / 10;
+      if (excess <= 0) {
+        return;
+      }
+
+      List<Map.Entry<Object, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+      snapshot.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+      for (int i = 0; i < excess && i < snapshot.size(); i++) {
+        entries.remove(snapshot.get(i).getKey(), snapshot.get(i).getValue());
+      }
+      regionFactory
+          .getHoarderLogger()
+          .debug(
+              HoarderStorageAccess.class,
+              "Evicted {} least recently used entries from region {}",
+              excess,
+              regionName);
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private Optional<HoardedKey> resolveHoardedKey(Object key) {
+    if (hoardedClasses.isEmpty() || cacheKeysFactory == null) {
+      return Optional.empty();
+    }
+    String entityName = getEntityOrRoleName(key);
+    if (entityName == null) {
+      return Optional.empty();
+    }
+
+    // Collection roles never resolve to a class, so only entity keys get this far
+    return regionFactory
+        .resolveHoardedClass(entityName)
+        .flatMap(
+            entityClass ->
+                regionFactory
+                    .getHoarderCache(entityClass)
+                    .map(
+                        cache ->
+                            new HoardedKey(
+                                cache,
+                                entityClass,
+                                entityName,
+                                cacheKeysFactory.getEntityId(key))));
+  }
+
+  // Hibernate uses the basic key without a tenant and the full key with one. Keys of a custom
+  // factory carry no name, so they only resolve in a region holding a single hoarded entity.
+  private String getEntityOrRoleName(Object key) {
+    if (key instanceof BasicCacheKeyImplementation basicKey) {
+      return basicKey.getEntityOrRoleName();
+    }
+    if (key instanceof CacheKeyImplementation cacheKey) {
+      return cacheKey.getEntityOrRoleName();
+    }
+    return hoardedClasses.size() == 1 ? hoardedClasses.iterator().next().getName() : null;
+  }
+
+  private Object toCacheEntry(
+      HoardedKey hoardedKey, Object entity, SharedSessionContractImplementor session) {
+    try {
+      SessionFactoryImplementor factory = session.getFactory();
+      EntityPersister persister =
+          factory
+              .getMappingMetamodel()
+              .getEntityDescriptor(hoardedKey.entityName())
+              .getSubclassEntityPersister(entity, factory);
+
+      // Disassembled the same way Hibernate caches a freshly loaded row
+      Object version = persister.isVersioned() ? persister.getVersion(entity) : null;
+      CacheEntry cacheEntry =
+          persister.buildCacheEntry(entity, persister.getValues(entity), version, session);
+      return persister.getCacheEntryStructure().structure(cacheEntry);
+    } catch (RuntimeException e) {
+      regionFactory
+          .getHoarderLogger()
+          .debug(
+              HoarderStorageAccess.class,
+              "Could not serve {} {} from the Hoarder cache: {}",
+              hoardedKey.entityName(),
+              hoardedKey.id(),
+              e.getMessage());
+      return null;
+    }
+  }
+
+  private static final class Entry {
+    private final Object value;
+    private final long expiresAt;
+    private volatile long lastAccess;
+
+    private Entry(Object value, long expiresAt, long lastAccess) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+      this.lastAccess = lastAccess;
+    }
+
+    private boolean isExpired() {
+      return expiresAt != 0 && System.nanoTime() - expiresAt > 0;
+    }
+  }
+
+  private record HoardedKey(
+      HoarderCache cache, Class<?> entityClass, String entityName, Object id) {}
+}
@@ -0,0 +1,198 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HotSetTracker {
+
+  // Keys are written as typed values, never as serialized objects, so a planted file cannot make
+  // the application instantiate arbitrary classes
+  private static final int FORMAT_VERSION = 2;
+  private static final List<Class<?>> KEY_TYPES =
+      List.of(Long.class, Integer.class, Short.class, String.class, UUID.class);
+
+  private final Map<Class<?>, AccessSketch> sketches = new ConcurrentHashMap<>();
+  private final Map<Class<?>, Class<?>> idTypes = new ConcurrentHashMap<>();
+  private final AtomicBoolean persistScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService persister =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "hoarder-hot-set");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final HoarderProperties properties;
+  private final HoarderLogger hoarderLogger;
+
+  public HotSetTracker(HoarderProperties properties, HoarderLogger hoarderLogger) {
+    this.properties = properties;
+    this.hoarderLogger = hoarderLogger;
+  }
+
+  // Starts recording accesses of the entity and returns the hot keys persisted by the last run.
+  // Only IDs of the listed key types can be tracked.
+  public List<Object> track(Class<?> clazz, Class<?> idType) {
+    if (!KEY_TYPES.contains(idType)) {
+      hoarderLogger.warn(
+          HotSetTracker.class,
+          "Hot set of entity {} cannot be tracked, unsupported ID type: {}",
+          clazz.getSimpleName(),
+          idType.getName());
+      return List.of();
+    }
+
+    HoarderProperties.Cache.HotSet hotSet = properties.getCache().getHotSet();
+    Map<Object, Integer> previous = read(clazz, idType);
+    AccessSketch sketch = new AccessSketch(hotSet.getSize());
+    sketch.seed(previous);
+    idTypes.put(clazz, idType);
+    sketches.put(clazz, sketch);
+
+    if (persistScheduled.compareAndSet(false, true)) {
+      long interval = Math.max(1, hotSet.getPersistIntervalMinutes());
+      persister.scheduleWithFixedDelay(this::persist, interval, interval, TimeUnit.MINUTES);
+    }
+    return new ArrayList<>(previous.keySet());
+  }
+
+  public void recordAccess(Class<?> clazz, Object key) {
+    if (key == null || sketches.isEmpty()) return;
+
+    // Arguments of another type, e.g. the list of findAllById, are no keys of this entity
+    AccessSketch sketch = sketches.get(clazz);
+    if (sketch != null && idTypes.get(clazz) == key.getClass()) {
+      sketch.record(key);
+    }
+  }
+
+  public void persist() {
+    sketches.forEach(this::write);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    persister.shutdownNow();
+    persist();
+  }
+
+  private Map<Object, Integer> read(Class<?> clazz, Class<?> idType) {
+    Path file = getFile(clazz);
+    if (!Files.exists(file)) {
+      hoarderLogger.debug(
+          HotSetTracker.class, "No hot set recorded yet for entity: {}", clazz.getSimpleName());
+      return Collections.emptyMap();
+    }
+
+    Map<Object, Integer> counts = new LinkedHashMap<>();
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      // Files of older versions or of a changed ID type are dropped, the hot set is rebuilt
+      if (in.readInt() != FORMAT_VERSION || !in.readUTF().equals(idType.getName())) {
+        return Collections.emptyMap();
+      }
+      int size = in.readInt();
+      for (int i = 0; i < size; i++) {
+        Object key = readKey(in, idType);
+        counts.put(key, in.readInt());
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      hoarderLogger.warn(
+          HotSetTracker.class,
+          "Failed to read hot set of entity {}: {}",
+          clazz.getSimpleName(),
+          e.getMessage());
+      return Collections.emptyMap();
+    }
+    return counts;
+  }
+
+  private void write(Class<?> clazz, AccessSketch sketch) {
+    Class<?> idType = idTypes.get(clazz);
+    Map<Object, Integer> snapshot = sketch.snapshot();
+    snapshot.keySet().removeIf(key -> key.getClass() != idType);
+    Path file = getFile(clazz);
+    try {
+      Files.createDirectories(file.getParent());
+      // Written next to the target and moved into place so a crash never leaves half a file
+      Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(idType.getName());
+        out.writeInt(snapshot.size());
+        for (Map.Entry<Object, Integer> entry : snapshot.entrySet()) {
+          writeKey(out, entry.getKey());
+          out.writeInt(entry.getValue());
+        }
+      }
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      hoarderLogger.debug(
+          HotSetTracker.class,
+          "Persisted {} hot keys for entity: {}",
+          snapshot.size(),
+          clazz.getSimpleName());
+    } catch (IOException e) {
+      hoarderLogger.warn(
+          HotSetTracker.class,
+          "Failed to persist hot set of entity {}: {}",
+          clazz.getSimpleName(),
+          e.getMessage());
+    }
+  }
+
+  private static Object readKey(DataInputStream in, Class<?> idType) throws IOException {
+    if (idType == Long.class) return in.readLong();
+    if (idType == Integer.class) return in.readInt();
+    if (idType == Short.class) return in.readShort();
+    if (idType == String.class) return in.readUTF();
+    if (idType == UUID.class) return new UUID(in.readLong(), in.readLong());
+    throw new IllegalArgumentException("Unsupported ID type " + idType.getName());
+  }
+
+  private static void writeKey(DataOutputStream out, Object key) throws IOException {
+    if (key instanceof Long value) {
+      out.writeLong(value);
+    } else if (key instanceof Integer value) {
+      out.writeInt(value);
+    } else if (key instanceof Short value) {
+      out.writeShort(value);
+    } else if (key instanceof String value) {
+      out.writeUTF(value);
+    } else if (key instanceof UUID value) {
+      out.writeLong(value.getMostSignificantBits());
+      out.writeLong(value.getLeastSignificantBits());
+    } else {
+      throw new IllegalArgumentException("Unsupported ID type " + key.getClass().getName());
+    }
+  }
+
+  private Path getFile(Class<?> clazz) {
+    return Path.of(properties.getCache().getHotSet().getDirectory(), clazz.getName() + ".hotset");
+  }
+}
@@ -0,0 +1,134 @@
+package com.maheshbabu11.hoarder.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+// Builds the ID map and every column index of an entity in a single pass over its rows
+final class IndexBuilder {
+
+  private static final int MIN_CHUNK_SIZE = 1024;
+
+  private final Function<Object, Object> idExtractor;
+  private final List<String> columnNames;
+  private final List<Function<Object, Object>> columnExtractors;
+
+  IndexBuilder(
+      Function<Object, Object> idExtractor, Map<String, Function<Object, Object>> extractors) {
+    this.idExtractor = idExtractor;
+    this.columnNames = new ArrayList<>(extractors.keySet());
+    this.columnExtractors = new ArrayList<>(extractors.values());
+  }
+
+  Result build(List<?> records) {
+    int size = records.size();
+    int chunks =
+        Math.max(
+            1,
+            Math.min(
+                ForkJoinPool.getCommonPoolParallelism(),
+                (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE));
+    int chunkSize = (size + chunks - 1) / chunks;
+
+    // Each fork-join worker indexes its own chunk into plain maps, merged once afterwards
+    List<Partial> partials =
+        IntStream.range(0, chunks)
+            .parallel()
+            .mapToObj(
+                chunk ->
+                    index(
+                        records.subList(
+                            chunk * chunkSize, Math.min(size, (chunk + 1) * chunkSize))))
+            .toList();
+
+    return merge(partials, size);
+  }
+
+  private Partial index(List<?> chunk) {
+    Map<Object, Object> ids = idExtractor != null ? new HashMap<>(capacity(chunk.size())) : null;
+    List<Map<Object, List<Object>>> columns = new ArrayList<>(columnNames.size());
+    for (int i = 0; i < columnNames.size(); i++) {
+      columns.add(new HashMap<>());
+    }
+    boolean[] nulls = new boolean[columnNames.size()];
+
+    for (Object record : chunk) {
+      if (ids != null) {
+        Object id = idExtractor.apply(record);
+        if (id != null) {
+          ids.put(id, record);
+        }
+      }
+      for (int i = 0; i < columnExtractors.size(); i++) {
+        Object value = columnExtractors.get(i).apply(record);
+        if (value != null) {
+          columns.get(i).computeIfAbsent(value, k -> new ArrayList<>()).add(record);
+        } else {
+          nulls[i] = true;
+        }
+      }
+    }
+    return new Partial(ids, columns, nulls);
+  }
+
+  private Result merge(List<Partial> partials, int size) {
+    Map<Object, Object> ids = null;
+    if (idExtractor != null) {
+      ids = new ConcurrentHashMap<>(capacity(size));
+      for (Partial partial : partials) {
+        ids.putAll(partial.ids());
+      }
+    }
+
+    Map<String, Map<Object, List<Object>>> columns = new HashMap<>();
+    List<String> columnsWithNulls = new ArrayList<>();
+    for (int i = 0; i < columnNames.size(); i++) {
+      int distinct = 0;
+      boolean hasNulls = false;
+      for (Partial partial : partials) {
+        distinct += partial.columns().get(i).size();
+        hasNulls |= partial.nulls()[i];
+      }
+
+      // Chunks are merged in row order, so every bucket keeps the order of the query result
+      Map<Object, List<Object>> columnMap =
+          new ConcurrentHashMap<>(capacity(Math.min(distinct, size)));
+      for (Partial partial : partials) {
+        partial
+            .columns()
+            .get(i)
+            .forEach(
+                (value, bucket) ->
+                    columnMap.merge(
+                        value,
+                        bucket,
+                        (existing, added) -> {
+                          existing.addAll(added);
+                          return existing;
+                        }));
+      }
+      columns.put(columnNames.get(i), columnMap);
+      if (hasNulls) {
+        columnsWithNulls.add(columnNames.get(i));
+      }
+    }
+    return new Result(ids, columns, columnsWithNulls);
+  }
+
+  private static int capacity(int expectedSize) {
+    return (int) (expectedSize / 0.75f) + 1;
+  }
+
+  private record Partial(
+      Map<Object, Object> ids, List<Map<Object, List<Object>>> columns, boolean[] nulls) {}
+
+  record Result(
+      Map<Object, Object> ids,
+      Map<String, Map<Object, List<Object>>> columns,
+      List<String> columnsWithNulls) {}
+}
@@ -0,0 +1,169 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Results of @HoardedQuery methods keyed by method and arguments. Each result remembers the
+// generations of the entities it read and is stale once any of them moved on, so invalidation
+// is a counter increment instead of a scan over the cached results.
+@Component
+@ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryResultCache {
+
+  private static final Object NULL_RESULT = new Object();
+
+  private final Map<QueryKey, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong();
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final HoarderCache hoarderCache;
+  private final HoarderProperties hoarderProperties;
+  private final HoarderLogger hoarderLogger;
+
+  public QueryResultCache(
+      HoarderCache hoarderCache, HoarderProperties hoarderProperties, HoarderLogger hoarderLogger) {
+    this.hoarderCache = hoarderCache;
+    this.hoarderProperties = hoarderProperties;
+    this.hoarderLogger = hoarderLogger;
+  }
+
+  public Object getOrLoad(
+      Method method, Object[] args, Class<?>[] entities, long ttlSeconds, Loader loader)
+      throws Throwable {
+    QueryKey key = new QueryKey(method, args);
+    Entry entry = entries.get(key);
+    if (entry != null && entry.isValid()) {
+      entry.lastAccess = clock.incrementAndGet();
+      hoarderLogger.debug(
+          QueryResultCache.class, "Returning cached result of {}", method.getName());
+      return entry.result == NULL_RESULT ? null : entry.result;
+    }
+
+    // Taken before the query runs, so a write racing with it leaves the result stale
+    long[] generations = new long[entities.length];
+    for (int i = 0; i < entities.length; i++) {
+      generations[i] = hoarderCache.getGeneration(entities[i]);
+    }
+    Object result = loader.load();
+
+    // The loading caller gets the same read-only copy, so it cannot alter what later callers see
+    Object shielded = shield(result);
+    long expiresAt = ttlSeconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds) : 0;
+    entries.put(
+        key, new Entry(shielded, entities, generations, expiresAt, clock.incrementAndGet()));
+    if (entries.size() > hoarderProperties.getCache().getQueryResults().getMaxEntries()) {
+      evict();
+    }
+    return shielded == NULL_RESULT ? null : shielded;
+  }
+
+  // Callers share cached results, so collections are stored as read-only copies
+  private static Object shield(Object result) {
+    if (result == null) {
+      return NULL_RESULT;
+    }
+    if (result instanceof List<?> list) {
+      return Collections.unmodifiableList(new ArrayList<>(list));
+    }
+    return result;
+  }
+
+  // Drops stale results first, then the least recently used down to 90% of the limit
+  private void evict() {
+    if (!evictionLock.tryLock()) {
+      return;
+    }
+    try {
+      entries.values().removeIf(entry -> !entry.isValid());
+      int maxEntries = hoarderProperties.getCache().getQueryResults().getMaxEntries();
+      int excess = entries.size() - maxEntries * 9 / 10;
+      if (excess <= 0) {
+        return;
+      }
+
+      List<Map.Entry<QueryKey, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+      snapshot.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+      for (int i = 0; i < excess && i < snapshot.size(); i++) {
+        entries.remove(snapshot.get(i).getKey(), snapshot.get(i).getValue());
+      }
+      hoarderLogger.debug(
+          QueryResultCache.class, "Evicted {} least recently used query results", excess);
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @FunctionalInterface
+  public interface Loader {
+    Object load() throws Throwable;
+  }
+
+  private final class Entry {
+    private final Object result;
+    private final Class<?>[] entities;
+    private final long[] generations;
+    private final long expiresAt;
+    private volatile long lastAccess;
+
+    private Entry(
+        Object result, Class<?>[] entities, long[] generations, long expiresAt, long lastAccess) {
+      this.result = result;
+      this.entities = entities;
+      this.generations = generations;
+      this.expiresAt = expiresAt;
+      this.lastAccess = lastAccess;
+    }
+
+    private boolean isValid() {
+      if (expiresAt != 0 && System.nanoTime() - expiresAt > 0) {
+        return false;
+      }
+      for (int i = 0; i < entities.length; i++) {
+        if (hoarderCache.getGeneration(entities[i]) != generations[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  // Arguments are copied so later changes by the caller cannot alter the key; the hash is
+  // computed once
+  private static final class QueryKey {
+    private final Method method;
+    private final Object[] args;
+    private final int hash;
+
+    private QueryKey(Method method, Object[] args) {
+      this.method = method;
+      this.args = args.clone();
+      this.hash = 31 * method.hashCode() + Arrays.deepHashCode(this.args);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof QueryKey key
+          && hash == key.hash
+          && method.equals(key.method)
+          && Arrays.deepEquals(args, key.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
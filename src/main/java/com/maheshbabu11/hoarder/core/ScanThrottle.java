@@ -0,0 +1,60 @@
+package com.maheshbabu11.hoarder.core;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Limits the preload and refresh scans of one node: how many run at once and how many rows per
+// second they read together
+final class ScanThrottle {
+
+  private final Semaphore scans;
+  private final long nanosPerRow;
+  private long nextFreeNanos;
+
+  ScanThrottle(int maxConcurrentScans, int maxRowsPerSecond) {
+    this.scans = new Semaphore(Math.max(1, maxConcurrentScans), true);
+    this.nanosPerRow = maxRowsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond : 0;
+  }
+
+  boolean isRateLimited() {
+    return nanosPerRow > 0;
+  }
+
+  <T> T scan(Supplier<T> scan) {
+    try {
+      scans.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a scan slot", e);
+    }
+    try {
+      return scan.get();
+    } finally {
+      scans.release();
+    }
+  }
+
+  // Blocks until the rows just read fit into the shared rate
+  void acquireRows(int rows) {
+    if (nanosPerRow == 0 || rows <= 0) {
+      return;
+    }
+    long waitNanos = reserve(rows);
+    if (waitNanos > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(waitNanos);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while throttling a scan", e);
+      }
+    }
+  }
+
+  private synchronized long reserve(int rows) {
+    long now = System.nanoTime();
+    long start = Math.max(now, nextFreeNanos);
+    nextFreeNanos = start + rows * nanosPerRow;
+    return start - now;
+  }
+}
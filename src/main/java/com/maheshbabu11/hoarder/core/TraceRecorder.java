@@ -0,0 +1,181 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Each run writes its own trace-<start time>-<pid>.bin file, so earlier traces are kept.
+// Ring file layout: a header (magic, version, capacity, total records written) followed by
+// fixed-size records (timestamp, key hash, channel, hit flag). Channel names are appended to a
+// sidecar text file as "<channel>\t<Entity>.<column>" lines.
+@Component
+@ConditionalOnProperty(value = "hoarder.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class TraceRecorder {
+
+  public static final int MAGIC = 0x48545243;
+  public static final int VERSION = 1;
+  public static final int HEADER_BYTES = 32;
+  public static final int RECORD_BYTES = 24;
+  public static final String CHANNELS_SUFFIX = ".channels";
+
+  private static final int TOTAL_OFFSET = 16;
+  private static final int TOTAL_FLUSH_INTERVAL = 1024;
+  private static final DateTimeFormatter FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+  private final Map<String, Integer> channels = new ConcurrentHashMap<>();
+  private final AtomicInteger nextChannel = new AtomicInteger();
+  private final AtomicLong sequence = new AtomicLong();
+  private final HoarderProperties properties;
+  private final HoarderLogger hoarderLogger;
+  private FileChannel fileChannel;
+  private Path file;
+  private Path channelsFile;
+  private long capacity;
+  private volatile MappedByteBuffer buffer;
+
+  public TraceRecorder(HoarderProperties properties, HoarderLogger hoarderLogger) {
+    this.properties = properties;
+    this.hoarderLogger = hoarderLogger;
+  }
+
+  @PostConstruct
+  public void open() {
+    HoarderProperties.Trace trace = properties.getTrace();
+    if (!trace.isEnabled()) {
+      return;
+    }
+
+    Path directory = Path.of(trace.getDirectory());
+    // A single mapping is limited to 2 GB
+    long size = Math.min(Math.max(1, trace.getMaxSizeMb()), 2047) * 1024L * 1024L;
+    capacity = (size - HEADER_BYTES) / RECORD_BYTES;
+    try {
+      Files.createDirectories(directory);
+      fileChannel = createTraceFile(directory);
+      channelsFile = file.resolveSibling(file.getFileName() + CHANNELS_SUFFIX);
+      long mappedSize = HEADER_BYTES + capacity * RECORD_BYTES;
+      MappedByteBuffer mapped = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+      mapped.putInt(0, MAGIC);
+      mapped.putInt(4, VERSION);
+      mapped.putLong(8, capacity);
+      mapped.putLong(TOTAL_OFFSET, 0);
+      Files.createFile(channelsFile);
+      buffer = mapped;
+      hoarderLogger.info(
+          TraceRecorder.class, "Recording cache trace to {} ({} records)", file, capacity);
+    } catch (IOException e) {
+      hoarderLogger.error(
+          TraceRecorder.class, "Failed to open trace file in {}: {}", directory, e.getMessage());
+    }
+  }
+
+  // Never overwrites a trace: a name already taken, e.g. by a second context in the same JVM,
+  // gets a counter suffix
+  private FileChannel createTraceFile(Path directory) throws IOException {
+    String name =
+        "trace-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "-" + ProcessHandle.current().pid();
+    for (int attempt = 0; ; attempt++) {
+      Path candidate = directory.resolve((attempt == 0 ? name : name + "-" + attempt) + ".bin");
+      try {
+        FileChannel channel =
+            FileChannel.open(
+                candidate,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        file = candidate;
+        return channel;
+      } catch (FileAlreadyExistsException e) {
+        // Try the next suffix
+      }
+    }
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  public void record(Class<?> clazz, String columnName, Object key, boolean hit) {
+    MappedByteBuffer target = buffer;
+    if (target == null || key == null) return;
+
+    int channel =
+        channels.computeIfAbsent(clazz.getSimpleName() + "." + columnName, this::addChannel);
+    long position = sequence.getAndIncrement();
+    int offset = HEADER_BYTES + (int) ((position % capacity) * RECORD_BYTES);
+    // Absolute writes to distinct slots, so concurrent callers never share a record
+    target.putLong(offset, System.currentTimeMillis());
+    target.putLong(offset + 8, keyHash(key));
+    target.putInt(offset + 16, channel);
+    target.putInt(offset + 20, hit ? 1 : 0);
+    if ((position + 1) % TOTAL_FLUSH_INTERVAL == 0) {
+      target.putLong(TOTAL_OFFSET, position + 1);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    MappedByteBuffer target = buffer;
+    if (target == null) return;
+
+    buffer = null;
+    target.putLong(TOTAL_OFFSET, sequence.get());
+    target.force();
+    try {
+      fileChannel.close();
+    } catch (IOException e) {
+      hoarderLogger.warn(TraceRecorder.class, "Failed to close trace file: {}", e.getMessage());
+    }
+    hoarderLogger.info(TraceRecorder.class, "Recorded {} cache trace records", sequence.get());
+  }
+
+  private int addChannel(String name) {
+    int channel = nextChannel.getAndIncrement();
+    try {
+      Files.writeString(
+          channelsFile,
+          channel + "\t" + name + "\n",
+          StandardCharsets.UTF_8,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      hoarderLogger.warn(
+          TraceRecorder.class, "Failed to record trace channel {}: {}", name, e.getMessage());
+    }
+    return channel;
+  }
+
+  // 64-bit hashes keep distinct numeric and string keys apart, unlike hashCode()
+  private long keyHash(Object key) {
+    if (key instanceof Number number && !(key instanceof Double || key instanceof Float)) {
+      return number.longValue();
+    }
+    if (key instanceof CharSequence text) {
+      long hash = 0xcbf29ce484222325L;
+      for (int i = 0; i < text.length(); i++) {
+        hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+      }
+      return hash;
+    }
+    long hash = key.hashCode() * 0x9E3779B97F4A7C15L;
+    return hash ^ (hash >>> 32);
+  }
+}
@@ -0,0 +1,286 @@
+package com.maheshbabu11.hoarder.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Generates a HoardedEntityDescriptor with plain field or getter accessors for every @Hoarded
+// entity, and lists them in META-INF/services for HoardedEntityRegistry
+@SupportedAnnotationTypes(HoardedEntityProcessor.HOARDED)
+public class HoardedEntityProcessor extends AbstractProcessor {
+
+  static final String HOARDED = "com.maheshbabu11.hoarder.annotation.Hoarded";
+  private static final String HOARDED_COLUMN =
+      "com.maheshbabu11.hoarder.annotation.HoardedColumn";
+  private static final String DESCRIPTOR =
+      "com.maheshbabu11.hoarder.core.HoardedEntityDescriptor";
+  private static final String SERVICE_FILE = "META-INF/services/" + DESCRIPTOR;
+  private static final Set<String> ID_ANNOTATIONS =
+      Set.of("jakarta.persistence.Id", "jakarta.persistence.EmbeddedId");
+  private static final Set<String> LOMBOK_GETTERS =
+      Set.of("lombok.Getter", "lombok.Data", "lombok.Value");
+
+  private final Set<String> descriptors = new TreeSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    TypeElement hoarded = processingEnv.getElementUtils().getTypeElement(HOARDED);
+    if (hoarded != null) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(hoarded)) {
+        if (element.getKind() == ElementKind.CLASS) {
+          generateDescriptor((TypeElement) element);
+        }
+      }
+    }
+    if (roundEnv.processingOver() && !descriptors.isEmpty()) {
+      writeServiceFile();
+    }
+    return false;
+  }
+
+  private void generateDescriptor(TypeElement entity) {
+    String packageName = getPackage(entity).getQualifiedName().toString();
+    String entityType =
+        processingEnv.getTypeUtils().erasure(entity.asType()).toString().replace('$', '.');
+    String descriptorName = getFlatName(entity) + "_HoardedDescriptor";
+
+    String idProperty = null;
+    String idAccessor = null;
+    Map<String, String> columnAccessors = new LinkedHashMap<>();
+    Set<String> seen = new HashSet<>();
+    for (VariableElement field : getHierarchyFields(entity)) {
+      String name = field.getSimpleName().toString();
+      if (field.getModifiers().contains(Modifier.STATIC) || !seen.add(name)) {
+        continue;
+      }
+      boolean id = hasAnnotation(field, ID_ANNOTATIONS);
+      if (!id && !hasAnnotation(field, Set.of(HOARDED_COLUMN))) {
+        continue;
+      }
+
+      String accessor = resolveAccessor(entity, field);
+      if (accessor == null) {
+        processingEnv
+            .getMessager()
+            .printMessage(
+                Diagnostic.Kind.NOTE,
+                "No accessible field or getter for '" + name + "', left to reflection",
+                field);
+        continue;
+      }
+      String lambda = "entity -> ((" + entityType + ") entity)." + accessor;
+      if (id) {
+        idProperty = name;
+        idAccessor = lambda;
+      } else {
+        columnAccessors.put(name, lambda);
+      }
+    }
+
+    String qualifiedName =
+        packageName.isEmpty() ? descriptorName : packageName + "." + descriptorName;
+    try (Writer writer =
+        processingEnv.getFiler().createSourceFile(qualifiedName, entity).openWriter()) {
+      writer.write(
+          render(packageName, descriptorName, entityType, idProperty, idAccessor, columnAccessors));
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Failed to write " + qualifiedName + ": " + e.getMessage());
+      return;
+    }
+    descriptors.add(qualifiedName);
+  }
+
+  private String render(
+      String packageName,
+      String descriptorName,
+      String entityType,
+      String idProperty,
+      String idAccessor,
+      Map<String, String> columnAccessors) {
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source
+        .append("@javax.annotation.processing.Generated(\"")
+        .append(HoardedEntityProcessor.class.getName())
+        .append("\")\n")
+        .append("public final class ")
+        .append(descriptorName)
+        .append(" implements ")
+        .append(DESCRIPTOR)
+        .append(" {\n\n")
+        .append("  private static final java.util.Map<String, java.util.function.Function<Object,")
+        .append(" Object>> COLUMNS = new java.util.LinkedHashMap<>();\n\n")
+        .append("  static {\n");
+    columnAccessors.forEach(
+        (name, accessor) ->
+            source
+                .append("    COLUMNS.put(\"")
+                .append(name)
+                .append("\", ")
+                .append(accessor)
+                .append(");\n"));
+    source
+        .append("  }\n\n")
+        .append("  @Override\n")
+        .append("  public Class<?> entityClass() {\n")
+        .append("    return ")
+        .append(entityType)
+        .append(".class;\n")
+        .append("  }\n\n")
+        .append("  @Override\n")
+        .append("  public String idProperty() {\n")
+        .append("    return ")
+        .append(idProperty != null ? "\"" + idProperty + "\"" : "null")
+        .append(";\n")
+        .append("  }\n\n")
+        .append("  @Override\n")
+        .append("  public java.util.function.Function<Object, Object> idAccessor() {\n")
+        .append("    return ")
+        .append(idAccessor != null ? idAccessor : "null")
+        .append(";\n")
+        .append("  }\n\n")
+        .append("  @Override\n")
+        .append("  public java.util.Map<String, java.util.function.Function<Object, Object>>")
+        .append(" columnAccessors() {\n")
+        .append("    return java.util.Collections.unmodifiableMap(COLUMNS);\n")
+        .append("  }\n")
+        .append("}\n");
+    return source.toString();
+  }
+
+  // Fields of the entity followed by those inherited from superclasses such as a
+  // @MappedSuperclass that declares the @Id
+  private List<VariableElement> getHierarchyFields(TypeElement entity) {
+    List<VariableElement> fields = new ArrayList<>();
+    TypeElement current = entity;
+    while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+      fields.addAll(ElementFilter.fieldsIn(current.getEnclosedElements()));
+      TypeMirror superclass = current.getSuperclass();
+      current =
+          superclass.getKind() == TypeKind.DECLARED
+              ? (TypeElement) ((DeclaredType) superclass).asElement()
+              : null;
+    }
+    return fields;
+  }
+
+  // The generated class lives in the entity's package, so any public member and any non-private
+  // member declared in that package is reachable
+  private String resolveAccessor(TypeElement entity, VariableElement field) {
+    String name = field.getSimpleName().toString();
+    if (isAccessible(entity, field)) {
+      return name;
+    }
+
+    String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    String getter = (field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get") + suffix;
+    List<ExecutableElement> methods =
+        ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(entity));
+    for (ExecutableElement method : methods) {
+      if (method.getSimpleName().contentEquals(getter)
+          && method.getParameters().isEmpty()
+          && isAccessible(entity, method)
+          && !method.getModifiers().contains(Modifier.STATIC)) {
+        return getter + "()";
+      }
+    }
+    // Lombok getters may not be generated yet when this processor runs; they are public
+    Element owner = field.getEnclosingElement();
+    if (hasAnnotation(field, LOMBOK_GETTERS) || hasAnnotation(owner, LOMBOK_GETTERS)) {
+      return getter + "()";
+    }
+    return null;
+  }
+
+  private boolean isAccessible(TypeElement entity, Element member) {
+    Set<Modifier> modifiers = member.getModifiers();
+    if (modifiers.contains(Modifier.PUBLIC)) {
+      return true;
+    }
+    TypeElement owner = (TypeElement) member.getEnclosingElement();
+    return !modifiers.contains(Modifier.PRIVATE) && getPackage(owner).equals(getPackage(entity));
+  }
+
+  private void writeServiceFile() {
+    // Entries of earlier incremental builds are kept
+    Set<String> entries = new TreeSet<>(descriptors);
+    try {
+      FileObject existing =
+          processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+      try (Reader reader = existing.openReader(true);
+          BufferedReader lines = new BufferedReader(reader)) {
+        lines.lines().map(String::trim).filter(line -> !line.isEmpty()).forEach(entries::add);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      // No previous service file
+    }
+
+    try (Writer writer =
+        processingEnv
+            .getFiler()
+            .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE)
+            .openWriter()) {
+      for (String entry : entries) {
+        writer.write(entry);
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e.getMessage());
+    }
+  }
+
+  private boolean hasAnnotation(Element element, Set<String> annotationNames) {
+    return element.getAnnotationMirrors().stream()
+        .map(mirror -> mirror.getAnnotationType().toString())
+        .anyMatch(annotationNames::contains);
+  }
+
+  private PackageElement getPackage(TypeElement type) {
+    return processingEnv.getElementUtils().getPackageOf(type);
+  }
+
+  private String getFlatName(TypeElement type) {
+    Element enclosing = type.getEnclosingElement();
+    String name = type.getSimpleName().toString();
+    return enclosing instanceof TypeElement outer ? getFlatName(outer) + "_" + name : name;
+  }
+}
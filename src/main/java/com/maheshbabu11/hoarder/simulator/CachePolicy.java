@@ -0,0 +1,11 @@
+package com.maheshbabu11.hoarder.simulator;
+
+public interface CachePolicy {
+
+  String name();
+
+  // Returns whether the key was a hit, and admits it on a miss when the policy allows
+  boolean access(long key, long timestamp);
+
+  int size();
+}
@@ -0,0 +1,61 @@
+package com.maheshbabu11.hoarder.simulator;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+// Least frequently used with constant-time frequency buckets, oldest entry first within a bucket
+public final class LfuPolicy implements CachePolicy {
+
+  private final int capacity;
+  private final Map<Long, Integer> frequencies = new HashMap<>();
+  private final Map<Integer, LinkedHashSet<Long>> buckets = new HashMap<>();
+  private int minFrequency;
+
+  public LfuPolicy(int capacity) {
+    this.capacity = capacity;
+  }
+
+  @Override
+  public String name() {
+    return "LFU(" + capacity + ")";
+  }
+
+  @Override
+  public boolean access(long key, long timestamp) {
+    Integer frequency = frequencies.get(key);
+    if (frequency != null) {
+      LinkedHashSet<Long> bucket = buckets.get(frequency);
+      bucket.remove(key);
+      if (bucket.isEmpty()) {
+        buckets.remove(frequency);
+        if (minFrequency == frequency) {
+          minFrequency++;
+        }
+      }
+      frequencies.put(key, frequency + 1);
+      buckets.computeIfAbsent(frequency + 1, k -> new LinkedHashSet<>()).add(key);
+      return true;
+    }
+
+    if (frequencies.size() >= capacity) {
+      LinkedHashSet<Long> bucket = buckets.get(minFrequency);
+      Iterator<Long> eldest = bucket.iterator();
+      frequencies.remove(eldest.next());
+      eldest.remove();
+      if (bucket.isEmpty()) {
+        buckets.remove(minFrequency);
+      }
+    }
+    frequencies.put(key, 1);
+    buckets.computeIfAbsent(1, k -> new LinkedHashSet<>()).add(key);
+    minFrequency = 1;
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return frequencies.size();
+  }
+}
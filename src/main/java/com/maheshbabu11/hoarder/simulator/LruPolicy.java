@@ -0,0 +1,46 @@
+package com.maheshbabu11.hoarder.simulator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Least recently used, with an optional time-to-live measured from the time an entry was loaded
+public final class LruPolicy implements CachePolicy {
+
+  private final int capacity;
+  private final long ttlMillis;
+  private final Map<Long, Long> loadedAt;
+
+  public LruPolicy(int capacity, long ttlMillis) {
+    this.capacity = capacity;
+    this.ttlMillis = ttlMillis;
+    this.loadedAt =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > LruPolicy.this.capacity;
+          }
+        };
+  }
+
+  @Override
+  public String name() {
+    String size = capacity == Integer.MAX_VALUE ? "unbounded" : String.valueOf(capacity);
+    return ttlMillis > 0 ? "LRU(" + size + ", ttl=" + ttlMillis / 1000 + "s)" : "LRU(" + size + ")";
+  }
+
+  @Override
+  public boolean access(long key, long timestamp) {
+    Long loaded = loadedAt.get(key);
+    if (loaded != null && (ttlMillis <= 0 || timestamp - loaded < ttlMillis)) {
+      return true;
+    }
+    // Expired entries are reloaded, which counts as a miss
+    loadedAt.put(key, timestamp);
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return loadedAt.size();
+  }
+}
@@ -0,0 +1,191 @@
+package com.maheshbabu11.hoarder.simulator;
+
+import com.maheshbabu11.hoarder.core.TraceRecorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Replays a trace written by TraceRecorder against cache policies, without Spring or a database:
+//   java -cp hoarder.jar com.maheshbabu11.hoarder.simulator.TraceSimulator trace.bin
+//       [--sizes=10000,100000] [--ttl-seconds=60,600] [--entry-bytes=512]
+public final class TraceSimulator {
+
+  private final long[] keys;
+  private final long[] timestamps;
+  private final int recordedHits;
+  private final Map<Integer, String> channels;
+
+  private TraceSimulator(
+      long[] keys, long[] timestamps, int recordedHits, Map<Integer, String> channels) {
+    this.keys = keys;
+    this.timestamps = timestamps;
+    this.recordedHits = recordedHits;
+    this.channels = channels;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println(
+          "Usage: TraceSimulator <trace file> [--sizes=n,...] [--ttl-seconds=s,...]"
+              + " [--entry-bytes=n]");
+      System.exit(1);
+    }
+
+    Map<String, String> options = new LinkedHashMap<>();
+    for (int i = 1; i < args.length; i++) {
+      String[] option = args[i].replaceFirst("^--", "").split("=", 2);
+      options.put(option[0], option.length > 1 ? option[1] : "");
+    }
+
+    TraceSimulator simulator = read(Path.of(args[0]));
+    int distinctKeys = simulator.countDistinctKeys();
+    int[] sizes =
+        options.containsKey("sizes")
+            ? parseInts(options.get("sizes"))
+            : new int[] {Math.max(1, distinctKeys / 100), Math.max(1, distinctKeys / 10)};
+    int[] ttlSeconds =
+        options.containsKey("ttl-seconds") ? parseInts(options.get("ttl-seconds")) : new int[0];
+    long entryBytes = Long.parseLong(options.getOrDefault("entry-bytes", "512"));
+    if (Arrays.stream(sizes).anyMatch(size -> size <= 0)
+        || Arrays.stream(ttlSeconds).anyMatch(ttl -> ttl <= 0)) {
+      System.err.println("Sizes and TTLs must be positive");
+      System.exit(1);
+    }
+
+    simulator.report(System.out, simulator.buildPolicies(sizes, ttlSeconds), entryBytes);
+  }
+
+  public static TraceSimulator read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt(0) != TraceRecorder.MAGIC || buffer.getInt(4) != TraceRecorder.VERSION) {
+        throw new IOException("Not a Hoarder trace file: " + file);
+      }
+
+      // Once the ring wrapped, the oldest record sits right after the newest one
+      long capacity = buffer.getLong(8);
+      long written = buffer.getLong(16);
+      int count = (int) Math.min(written, capacity);
+      long first = written > capacity ? written % capacity : 0;
+
+      long[] keys = new long[count];
+      long[] timestamps = new long[count];
+      int recordedHits = 0;
+      for (int i = 0; i < count; i++) {
+        long slot = (first + i) % capacity;
+        int offset = TraceRecorder.HEADER_BYTES + (int) (slot * TraceRecorder.RECORD_BYTES);
+        timestamps[i] = buffer.getLong(offset);
+        // The channel is folded in so equal keys of different entities or columns stay apart
+        keys[i] = buffer.getLong(offset + 8) * 0x9E3779B97F4A7C15L + buffer.getInt(offset + 16);
+        recordedHits += buffer.getInt(offset + 20);
+      }
+      return new TraceSimulator(keys, timestamps, recordedHits, readChannels(file));
+    }
+  }
+
+  public List<CachePolicy> buildPolicies(int[] sizes, int[] ttlSeconds) {
+    // A bounded policy with no room would have nothing to evict on its first miss
+    for (int size : sizes) {
+      if (size <= 0) {
+        throw new IllegalArgumentException("Cache size must be positive: " + size);
+      }
+    }
+    List<CachePolicy> policies = new ArrayList<>();
+    // What Hoarder does today when filling from misses: nothing is ever evicted
+    policies.add(new LruPolicy(Integer.MAX_VALUE, 0));
+    for (int ttl : ttlSeconds) {
+      policies.add(new LruPolicy(Integer.MAX_VALUE, ttl * 1000L));
+    }
+    for (int size : sizes) {
+      policies.add(new LruPolicy(size, 0));
+      policies.add(new LfuPolicy(size));
+      policies.add(new WindowTinyLfuPolicy(size));
+      for (int ttl : ttlSeconds) {
+        policies.add(new LruPolicy(size, ttl * 1000L));
+      }
+    }
+    return policies;
+  }
+
+  public void report(PrintStream out, List<CachePolicy> policies, long entryBytes) {
+    out.printf(
+        "Trace: %d lookups, %d distinct keys, recorded hit ratio %.2f%%%n",
+        keys.length, countDistinctKeys(), percent(recordedHits));
+    out.println("Channels: " + String.join(", ", channels.values()));
+    out.printf(
+        "%-28s %10s %12s %12s %12s %14s%n",
+        "Policy", "Hit ratio", "DB calls", "DB avoided", "Peak size", "Peak memory");
+
+    for (CachePolicy policy : policies) {
+      int hits = 0;
+      int peakSize = 0;
+      for (int i = 0; i < keys.length; i++) {
+        if (policy.access(keys[i], timestamps[i])) {
+          hits++;
+        }
+        peakSize = Math.max(peakSize, policy.size());
+      }
+      out.printf(
+          "%-28s %9.2f%% %12d %12d %12d %14s%n",
+          policy.name(),
+          percent(hits),
+          keys.length - hits,
+          hits,
+          peakSize,
+          formatBytes(peakSize * entryBytes));
+    }
+  }
+
+  private int countDistinctKeys() {
+    Set<Long> distinct = new HashSet<>();
+    for (long key : keys) {
+      distinct.add(key);
+    }
+    return distinct.size();
+  }
+
+  private double percent(int hits) {
+    return keys.length == 0 ? 0 : hits * 100.0 / keys.length;
+  }
+
+  private static Map<Integer, String> readChannels(Path file) throws IOException {
+    Map<Integer, String> channels = new LinkedHashMap<>();
+    Path channelsFile = file.resolveSibling(file.getFileName() + TraceRecorder.CHANNELS_SUFFIX);
+    if (Files.exists(channelsFile)) {
+      for (String line : Files.readAllLines(channelsFile)) {
+        String[] parts = line.split("\t", 2);
+        if (parts.length == 2) {
+          channels.put(Integer.parseInt(parts[0]), parts[1]);
+        }
+      }
+    }
+    return channels;
+  }
+
+  private static int[] parseInts(String values) {
+    return Arrays.stream(values.split(","))
+        .map(String::trim)
+        .filter(value -> !value.isEmpty())
+        .mapToInt(Integer::parseInt)
+        .toArray();
+  }
+
+  private static String formatBytes(long bytes) {
+    if (bytes < 1024 * 1024) {
+      return String.format("%.1f KB", bytes / 1024.0);
+    }
+    return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+  }
+}
@@ -0,0 +1,121 @@
+package com.maheshbabu11.hoarder.simulator;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// W-TinyLFU: a small LRU window in front of a segmented LRU, with admission into the main space
+// decided by a count-min frequency sketch
+public final class WindowTinyLfuPolicy implements CachePolicy {
+
+  private final int capacity;
+  private final int windowCapacity;
+  private final int protectedCapacity;
+  private final Map<Long, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Long, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Long, Boolean> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+  private final FrequencySketch sketch;
+
+  public WindowTinyLfuPolicy(int capacity) {
+    this.capacity = Math.max(2, capacity);
+    this.windowCapacity = Math.max(1, this.capacity / 100);
+    this.protectedCapacity = (this.capacity - windowCapacity) * 80 / 100;
+    this.sketch = new FrequencySketch(this.capacity);
+  }
+
+  @Override
+  public String name() {
+    return "W-TinyLFU(" + capacity + ")";
+  }
+
+  @Override
+  public boolean access(long key, long timestamp) {
+    sketch.increment(key);
+    if (window.get(key) != null || protectedSegment.get(key) != null) {
+      return true;
+    }
+    if (probation.remove(key) != null) {
+      protectedSegment.put(key, Boolean.TRUE);
+      if (protectedSegment.size() > protectedCapacity) {
+        probation.put(removeEldest(protectedSegment), Boolean.TRUE);
+      }
+      return true;
+    }
+
+    window.put(key, Boolean.TRUE);
+    if (window.size() > windowCapacity) {
+      admit(removeEldest(window));
+    }
+    return false;
+  }
+
+  @Override
+  public int size() {
+    return window.size() + probation.size() + protectedSegment.size();
+  }
+
+  private void admit(long candidate) {
+    if (probation.size() + protectedSegment.size() < capacity - windowCapacity) {
+      probation.put(candidate, Boolean.TRUE);
+      return;
+    }
+    Map<Long, Boolean> victims = probation.isEmpty() ? protectedSegment : probation;
+    long victim = victims.keySet().iterator().next();
+    // The candidate replaces the victim only when it has been used more often
+    if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+      victims.remove(victim);
+      probation.put(candidate, Boolean.TRUE);
+    }
+  }
+
+  private static long removeEldest(Map<Long, Boolean> segment) {
+    Iterator<Long> eldest = segment.keySet().iterator();
+    long key = eldest.next();
+    eldest.remove();
+    return key;
+  }
+
+  private static final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+      0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int[] counters;
+    private final int mask;
+    private final long agingThreshold;
+    private long additions;
+
+    FrequencySketch(int capacity) {
+      int width = Integer.highestOneBit(Math.max(64, capacity) - 1) << 1;
+      this.counters = new int[width * SEEDS.length];
+      this.mask = width - 1;
+      this.agingThreshold = (long) capacity * 10;
+    }
+
+    void increment(long key) {
+      for (int row = 0; row < SEEDS.length; row++) {
+        counters[index(key, row)]++;
+      }
+      if (++additions >= agingThreshold) {
+        additions = 0;
+        for (int i = 0; i < counters.length; i++) {
+          counters[i] >>>= 1;
+        }
+      }
+    }
+
+    int frequency(long key) {
+      int frequency = Integer.MAX_VALUE;
+      for (int row = 0; row < SEEDS.length; row++) {
+        frequency = Math.min(frequency, counters[index(key, row)]);
+      }
+      return frequency;
+    }
+
+    private int index(long key, int row) {
+      long hash = (key ^ (key >>> 31)) * SEEDS[row];
+      return row * (mask + 1) + (int) ((hash ^ (hash >>> 32)) & mask);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.maheshbabu11.hoarder.util;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public final class EntityComparators {
+
+  private static final Map<Class<?>, Map<Sort, Comparator<Object>>> COMPARATORS =
+      new ConcurrentHashMap<>();
+
+  private EntityComparators() {}
+
+  // Built once per entity class and sort, then reused for every request with the same ordering
+  public static Comparator<Object> forSort(Class<?> entityClass, Sort sort) {
+    return COMPARATORS
+        .computeIfAbsent(entityClass, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(sort, k -> build(entityClass, sort));
+  }
+
+  private static Comparator<Object> build(Class<?> entityClass, Sort sort) {
+    Comparator<Object> comparator = null;
+    for (Sort.Order order : sort) {
+      Comparator<Object> next = forOrder(entityClass, order);
+      comparator = comparator == null ? next : comparator.thenComparing(next);
+    }
+    return comparator != null ? comparator : (a, b) -> 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Comparator<Object> forOrder(Class<?> entityClass, Sort.Order order) {
+    Function<Object, Object> accessor =
+        PropertyAccessors.forPath(entityClass, order.getProperty());
+    if (accessor == null) {
+      throw new IllegalArgumentException(
+          "No property '" + order.getProperty() + "' on " + entityClass.getSimpleName());
+    }
+
+    return (a, b) -> {
+      Object left = accessor.apply(a);
+      Object right = accessor.apply(b);
+      if (left == null || right == null) {
+        return compareNulls(left, right, order.getNullHandling());
+      }
+      if (order.isIgnoreCase() && left instanceof String l && right instanceof String r) {
+        left = l.toUpperCase(Locale.ROOT);
+        right = r.toUpperCase(Locale.ROOT);
+      }
+      int result = ((Comparable<Object>) left).compareTo(right);
+      return order.isDescending() ? -result : result;
+    };
+  }
+
+  private static int compareNulls(Object left, Object right, Sort.NullHandling nullHandling) {
+    if (left == null && right == null) {
+      return 0;
+    }
+    // Where NATIVE puts nulls depends on the database, so such sorts are left to it
+    return switch (nullHandling) {
+      case NULLS_FIRST -> left == null ? -1 : 1;
+      case NULLS_LAST -> left == null ? 1 : -1;
+      case NATIVE -> throw new IllegalStateException("Native null ordering cannot be emulated");
+    };
+  }
+}
@@ -0,0 +1,147 @@
+package com.maheshbabu11.hoarder.util;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class EntityCopier {
+
+  private static final Map<Class<?>, CopyPlan> PLANS = new ConcurrentHashMap<>();
+  private static final Map<Class<?>, Boolean> COPYABLE = new ConcurrentHashMap<>();
+
+  private EntityCopier() {}
+
+  // Copy of the entity and of every loaded entity and embeddable reachable from it, so changes
+  // made by the caller never reach the cached instances
+  @SuppressWarnings("unchecked")
+  public static <T> T copy(T entity) {
+    return (T) new GraphCopy(false).copyValue(entity);
+  }
+
+  // Same as copy, with every loaded collection and map of the graph made unmodifiable
+  @SuppressWarnings("unchecked")
+  public static <T> T snapshot(T entity) {
+    return (T) new GraphCopy(true).copyValue(entity);
+  }
+
+  private static boolean isCopyable(Class<?> type) {
+    return COPYABLE.computeIfAbsent(
+        type,
+        k -> k.isAnnotationPresent(Entity.class) || k.isAnnotationPresent(Embeddable.class));
+  }
+
+  // Copies a graph once per instance, so shared references and cycles are kept
+  private static final class GraphCopy {
+    private final boolean unmodifiable;
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    private GraphCopy(boolean unmodifiable) {
+      this.unmodifiable = unmodifiable;
+    }
+
+    private Object copyValue(Object value) {
+      // Uninitialized lazy proxies and collections are kept, copying them would trigger a load
+      if (value == null || !Hibernate.isInitialized(value)) {
+        return value;
+      }
+      if (value instanceof HibernateProxy proxy) {
+        value = proxy.getHibernateLazyInitializer().getImplementation();
+      }
+      if (isCopyable(value.getClass())) {
+        return copyObject(value);
+      }
+      return copyContainer(value);
+    }
+
+    private Object copyObject(Object source) {
+      Object existing = copies.get(source);
+      if (existing != null) {
+        return existing;
+      }
+      CopyPlan plan = PLANS.computeIfAbsent(source.getClass(), EntityCopier::buildPlan);
+      try {
+        Object copy = plan.constructor().invoke();
+        copies.put(source, copy);
+        for (FieldHandle field : plan.fields()) {
+          field.setter().invoke(copy, copyValue(field.getter().invoke(source)));
+        }
+        return copy;
+      } catch (Throwable e) {
+        throw new IllegalStateException(
+            "Failed to copy entity " + source.getClass().getSimpleName(), e);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object copyContainer(Object value) {
+      if (value instanceof SortedSet<?> sortedSet) {
+        SortedSet<Object> copy = new TreeSet<>((Comparator<Object>) sortedSet.comparator());
+        sortedSet.forEach(element -> copy.add(copyValue(element)));
+        return unmodifiable ? Collections.unmodifiableSortedSet(copy) : copy;
+      }
+      if (value instanceof Set<?> set) {
+        Set<Object> copy = new LinkedHashSet<>(capacity(set.size()));
+        set.forEach(element -> copy.add(copyValue(element)));
+        return unmodifiable ? Collections.unmodifiableSet(copy) : copy;
+      }
+      if (value instanceof Collection<?> collection) {
+        List<Object> copy = new ArrayList<>(collection.size());
+        collection.forEach(element -> copy.add(copyValue(element)));
+        return unmodifiable ? Collections.unmodifiableList(copy) : copy;
+      }
+      // Map keys are kept, copies would not be equal to them for entities without equals
+      if (value instanceof SortedMap<?, ?> sortedMap) {
+        SortedMap<Object, Object> copy = new TreeMap<>((Comparator<Object>) sortedMap.comparator());
+        sortedMap.forEach((key, element) -> copy.put(key, copyValue(element)));
+        return unmodifiable ? Collections.unmodifiableSortedMap(copy) : copy;
+      }
+      if (value instanceof Map<?, ?> map) {
+        Map<Object, Object> copy = new LinkedHashMap<>(capacity(map.size()));
+        map.forEach((key, element) -> copy.put(key, copyValue(element)));
+        return unmodifiable ? Collections.unmodifiableMap(copy) : copy;
+      }
+      return value;
+    }
+
+    private static int capacity(int expectedSize) {
+      return (int) (expectedSize / 0.75f) + 1;
+    }
+  }
+
+  private static CopyPlan buildPlan(Class<?> type) {
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      constructor.setAccessible(true);
+
+      List<FieldHandle> fields = new ArrayList<>();
+      for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+        for (Field field : current.getDeclaredFields()) {
+          // Skip statics and the interceptor state of bytecode-enhanced entities
+          if (Modifier.isStatic(field.getModifiers())
+              || field.getName().startsWith("$$_hibernate_")) {
+            continue;
+          }
+          field.setAccessible(true);
+          fields.add(new FieldHandle(lookup.unreflectGetter(field), lookup.unreflectSetter(field)));
+        }
+      }
+      return new CopyPlan(lookup.unreflectConstructor(constructor), List.copyOf(fields));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot build copy plan for " + type.getSimpleName(), e);
+    }
+  }
+
+  private record CopyPlan(MethodHandle constructor, List<FieldHandle> fields) {}
+
+  private record FieldHandle(MethodHandle getter, MethodHandle setter) {}
+}
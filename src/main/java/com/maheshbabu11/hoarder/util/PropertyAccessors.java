@@ -0,0 +1,107 @@
+package com.maheshbabu11.hoarder.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public final class PropertyAccessors {
+
+  private static final Map<Class<?>, Map<String, Function<Object, Object>>> ACCESSORS =
+      new ConcurrentHashMap<>();
+
+  private PropertyAccessors() {}
+
+  // Resolves a (possibly dotted) property path to a reusable accessor, null for unknown paths
+  public static Function<Object, Object> forPath(Class<?> type, String path) {
+    return ACCESSORS
+        .computeIfAbsent(type, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(path, k -> resolve(type, path));
+  }
+
+  public static Object getValue(Object target, String path) {
+    Function<Object, Object> accessor = forPath(target.getClass(), path);
+    if (accessor == null) {
+      throw new IllegalArgumentException(
+          "No property '" + path + "' on " + target.getClass().getSimpleName());
+    }
+    return accessor.apply(target);
+  }
+
+  private static Function<Object, Object> resolve(Class<?> type, String path) {
+    Function<Object, Object> accessor = null;
+    Class<?> currentType = type;
+
+    for (String segment : path.split("\\.")) {
+      Method getter = findGetter(currentType, segment);
+      Function<Object, Object> step;
+      if (getter != null) {
+        step = target -> invoke(getter, target);
+        currentType = getter.getReturnType();
+      } else {
+        Field field = findField(currentType, segment);
+        if (field == null) {
+          return null;
+        }
+        field.setAccessible(true);
+        step = target -> read(field, target);
+        currentType = field.getType();
+      }
+
+      if (accessor == null) {
+        accessor = step;
+      } else {
+        Function<Object, Object> previous = accessor;
+        accessor =
+            target -> {
+              Object intermediate = previous.apply(target);
+              return intermediate != null ? step.apply(intermediate) : null;
+            };
+      }
+    }
+    return accessor;
+  }
+
+  private static Method findGetter(Class<?> type, String property) {
+    String capitalized = property.substring(0, 1).toUpperCase() + property.substring(1);
+    for (String name : new String[] {"get" + capitalized, "is" + capitalized, property}) {
+      try {
+        Method method = type.getMethod(name);
+        if (method.getReturnType() != void.class) {
+          return method;
+        }
+      } catch (NoSuchMethodException e) {
+        // try the next naming convention
+      }
+    }
+    return null;
+  }
+
+  private static Field findField(Class<?> type, String property) {
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      try {
+        return current.getDeclaredField(property);
+      } catch (NoSuchFieldException e) {
+        // look in the superclass
+      }
+    }
+    return null;
+  }
+
+  private static Object invoke(Method getter, Object target) {
+    try {
+      return getter.invoke(target);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to read " + getter.getName(), e);
+    }
+  }
+
+  private static Object read(Field field, Object target) {
+    try {
+      return field.get(target);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to read " + field.getName(), e);
+    }
+  }
+}
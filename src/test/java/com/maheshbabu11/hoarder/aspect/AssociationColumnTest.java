@@ -0,0 +1,95 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Category;
+import com.maheshbabu11.hoarder.sample.CategoryRepository;
+import com.maheshbabu11.hoarder.sample.Compound;
+import com.maheshbabu11.hoarder.sample.CompoundRepository;
+import com.maheshbabu11.hoarder.sample.Lab;
+import com.maheshbabu11.hoarder.sample.LabRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssociationColumnTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private LabRepository labRepository;
+  @Autowired private CompoundRepository compoundRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void loadCompounds() {
+    compoundRepository.deleteAll();
+    categoryRepository.deleteAll();
+    labRepository.deleteAll();
+    Category salts = categoryRepository.save(new Category(1L, "salt"));
+    Category acids = categoryRepository.save(new Category(2L, "acid"));
+    Lab north = labRepository.save(new Lab(1L, "North"));
+    Lab south = labRepository.save(new Lab(2L, "South"));
+    compoundRepository.saveAll(
+        List.of(
+            new Compound(1L, "NaCl", salts, north, new ArrayList<>()),
+            new Compound(2L, "KCl", salts, south, new ArrayList<>()),
+            new Compound(3L, "HCl", acids, north, new ArrayList<>())));
+    for (Class<?> entityClass : List.of(Category.class, Compound.class)) {
+      hoarderCache.clearForEntity(entityClass);
+      hoarderInitializer.loadEntity(entityClass);
+    }
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private static List<String> formulas(List<Compound> compounds) {
+    return compounds.stream().map(Compound::getFormula).toList();
+  }
+
+  @Test
+  void indexesToOneAssociationsByTheirId() {
+    assertThat(formulas(compoundRepository.findAllByCategoryId(1L)))
+        .containsExactlyInAnyOrder("NaCl", "KCl");
+    assertThat(formulas(compoundRepository.findAllByCategoryId(2L))).containsExactly("HCl");
+    assertThat(compoundRepository.countByCategoryId(1L)).isEqualTo(2);
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void indexesNestedPropertiesOfAssociations() {
+    assertThat(formulas(compoundRepository.findAllByOrigin_Name("North")))
+        .containsExactlyInAnyOrder("NaCl", "HCl");
+    assertThat(compoundRepository.findFirstByOrigin_Name("South"))
+        .map(Compound::getFormula)
+        .contains("KCl");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void goesToTheDatabaseOnceARowIsSaved() {
+    Category salts = categoryRepository.findById(1L).orElseThrow();
+    Lab south = labRepository.findById(2L).orElseThrow();
+    compoundRepository.save(new Compound(4L, "KBr", salts, south, new ArrayList<>()));
+    statistics.clear();
+
+    assertThat(formulas(compoundRepository.findAllByCategoryId(1L)))
+        .containsExactlyInAnyOrder("NaCl", "KCl", "KBr");
+    assertThat(statistics.getPrepareStatementCount()).isPositive();
+  }
+}
@@ -0,0 +1,83 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.AsyncQueryExecutor;
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(classes = SampleApplication.class)
+class AsyncRepositoryTest {
+
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @SpyBean private AsyncQueryExecutor asyncQueryExecutor;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008), new Element(2, "He", "noble gas", 4.0026)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+    clearInvocations(asyncQueryExecutor);
+  }
+
+  @Test
+  void completesHitsOnTheCallingThread() {
+    CompletableFuture<Optional<Element>> hit = elementRepository.findBySymbol("He");
+
+    assertThat(hit).isDone();
+    assertThat(hit.join()).map(Element::getAtomicNumber).contains(2);
+    verify(asyncQueryExecutor, never()).submit(any());
+  }
+
+  @Test
+  void loadsMissesOnTheExecutor() {
+    elementRepository.save(new Element(3, "Li", "alkali metal", 6.94));
+
+    Optional<Element> miss = elementRepository.findBySymbol("Li").join();
+
+    assertThat(miss).map(Element::getAtomicNumber).contains(3);
+    verify(asyncQueryExecutor).submit(any());
+  }
+
+  @Test
+  void runsMissesInPlaceInsideATransaction() {
+    CompletableFuture<Optional<Element>> miss =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status -> {
+                  // Not committed yet, so only a query in this transaction can see the row
+                  elementRepository.save(new Element(3, "Li", "alkali metal", 6.94));
+                  CompletableFuture<Optional<Element>> future =
+                      elementRepository.findBySymbol("Li");
+                  assertThat(future).isDone();
+                  return future;
+                });
+
+    assertThat(miss.join()).map(Element::getAtomicNumber).contains(3);
+    verify(asyncQueryExecutor, never()).submit(any());
+  }
+}
@@ -0,0 +1,84 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Category;
+import com.maheshbabu11.hoarder.sample.CategoryRepository;
+import com.maheshbabu11.hoarder.sample.Compound;
+import com.maheshbabu11.hoarder.sample.CompoundRepository;
+import com.maheshbabu11.hoarder.sample.Lab;
+import com.maheshbabu11.hoarder.sample.LabRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Category is hoarded with COPY and Compound with READ_ONLY, so hits are private copies
+@SpringBootTest(classes = SampleApplication.class)
+class HitPolicyTest {
+
+  @Autowired private CategoryRepository categoryRepository;
+  @Autowired private LabRepository labRepository;
+  @Autowired private CompoundRepository compoundRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  @BeforeEach
+  void loadCompounds() {
+    compoundRepository.deleteAll();
+    categoryRepository.deleteAll();
+    labRepository.deleteAll();
+    Category salts = categoryRepository.save(new Category(1L, "salt"));
+    Lab lab = labRepository.save(new Lab(1L, "North"));
+    compoundRepository.save(
+        new Compound(1L, "NaCl", salts, lab, new ArrayList<>(List.of("table salt"))));
+    for (Class<?> entityClass : List.of(Category.class, Compound.class)) {
+      hoarderCache.clearForEntity(entityClass);
+      hoarderInitializer.loadEntity(entityClass);
+    }
+  }
+
+  @Test
+  void readOnlyHitsAreFrozenSnapshots() {
+    Compound hit = compoundRepository.findById(1L).orElseThrow();
+
+    hit.setFormula("KCl");
+    hit.getCategory().setName("changed");
+    assertThatThrownBy(() -> hit.getSynonyms().add("halite"))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    Compound next = compoundRepository.findById(1L).orElseThrow();
+    assertThat(next).isNotSameAs(hit);
+    assertThat(next.getFormula()).isEqualTo("NaCl");
+    assertThat(next.getCategory().getName()).isEqualTo("salt");
+    assertThat(next.getSynonyms()).containsExactly("table salt");
+    assertThat(hoarderCache.get(Compound.class, 1L).orElseThrow().getFormula()).isEqualTo("NaCl");
+  }
+
+  @Test
+  void copyHitsAreDeepCopies() {
+    Category hit = categoryRepository.findById(1L).orElseThrow();
+    hit.setName("changed");
+
+    assertThat(categoryRepository.findById(1L).orElseThrow().getName()).isEqualTo("salt");
+    assertThat(hoarderCache.get(Category.class, 1L).orElseThrow().getName()).isEqualTo("salt");
+  }
+
+  @Test
+  void copiesKeepSharedReferences() {
+    List<Compound> hits = compoundRepository.findAll(Sort.by("id"));
+    Compound hit = hits.get(0);
+
+    // The copy of an associated entity is reused within one hit
+    assertThat(hit.getCategory()).isNotSameAs(hoarderCache.get(Category.class, 1L).orElseThrow());
+    assertThat(hit.getCategory().getName()).isEqualTo("salt");
+  }
+}
@@ -0,0 +1,117 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PagingTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(2, "He", "noble gas", 4.0026),
+            new Element(3, "Li", "alkali metal", 6.94),
+            new Element(10, "Ne", "noble gas", 20.18),
+            new Element(11, "Na", "alkali metal", 22.99),
+            new Element(18, "Ar", "noble gas", 39.95)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private static List<String> symbols(Iterable<Element> elements) {
+    return StreamSupport.stream(elements.spliterator(), false)
+        .map(Element::getSymbol)
+        .toList();
+  }
+
+  @Test
+  void slicesColumnBucketsIntoPages() {
+    Page<Element> first =
+        elementRepository.findAllByType("noble gas", PageRequest.of(0, 2, Sort.by("mass")));
+    Page<Element> last =
+        elementRepository.findAllByType("noble gas", PageRequest.of(1, 2, Sort.by("mass")));
+
+    assertThat(symbols(first)).containsExactly("He", "Ne");
+    assertThat(first.getTotalElements()).isEqualTo(3);
+    assertThat(first.getTotalPages()).isEqualTo(2);
+    assertThat(first.hasNext()).isTrue();
+    assertThat(symbols(last)).containsExactly("Ar");
+    assertThat(last.getTotalElements()).isEqualTo(3);
+    assertThat(last.hasNext()).isFalse();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void slicesWithoutCountingTheRest() {
+    Slice<Element> slice =
+        elementRepository.findBySymbolStartingWith(
+            "N", PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "symbol")));
+
+    assertThat(slice).isNotInstanceOf(Page.class);
+    assertThat(symbols(slice)).containsExactly("Ne");
+    assertThat(slice.hasNext()).isTrue();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void sortsBucketsAndTheWholeEntity() {
+    assertThat(
+            symbols(
+                elementRepository.findAllByType(
+                    "noble gas", Sort.by(Sort.Direction.DESC, "mass"))))
+        .containsExactly("Ar", "Ne", "He");
+    assertThat(symbols(elementRepository.findAll(Sort.by("symbol"))))
+        .containsExactly("Ar", "He", "Li", "Na", "Ne");
+
+    Page<Element> page = elementRepository.findAll(PageRequest.of(1, 2, Sort.by("atomicNumber")));
+    assertThat(symbols(page)).containsExactly("Ne", "Na");
+    assertThat(page.getTotalElements()).isEqualTo(5);
+    assertThat(page.getNumber()).isEqualTo(1);
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void pagesFromTheDatabaseOnceARowIsSaved() {
+    elementRepository.save(new Element(36, "Kr", "noble gas", 83.80));
+    statistics.clear();
+
+    Page<Element> page =
+        elementRepository.findAllByType("noble gas", PageRequest.of(1, 2, Sort.by("mass")));
+
+    assertThat(symbols(page)).containsExactly("Ar", "Kr");
+    assertThat(page.getTotalElements()).isEqualTo(4);
+    assertThat(statistics.getPrepareStatementCount()).isPositive();
+  }
+}
@@ -0,0 +1,91 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PatternLookupTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008),
+            new Element(2, "He", "noble gas", 4.0026),
+            new Element(3, "Li", "alkali metal", 6.94),
+            new Element(10, "Ne", "noble gas", 20.18)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private static List<String> symbols(List<Element> elements) {
+    return elements.stream().map(Element::getSymbol).toList();
+  }
+
+  @Test
+  void servesIgnoreCaseFromTheFoldedIndex() {
+    assertThat(elementRepository.findBySymbolIgnoreCase("hE"))
+        .map(Element::getSymbol)
+        .contains("He");
+    assertThat(elementRepository.findBySymbolIgnoreCase("LI"))
+        .map(Element::getSymbol)
+        .contains("Li");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void servesPrefixesFromTheSortedIndex() {
+    assertThat(symbols(elementRepository.findBySymbolStartingWith("H")))
+        .containsExactlyInAnyOrder("H", "He");
+    // Case-sensitive prefixes must not match the folded keys
+    assertThat(elementRepository.findBySymbolStartingWith("h")).isEmpty();
+    assertThat(symbols(elementRepository.findBySymbolStartingWithIgnoreCase("h")))
+        .containsExactlyInAnyOrder("H", "He");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void servesContainingFromTheCachedKeys() {
+    assertThat(symbols(elementRepository.findByTypeContaining("metal")))
+        .containsExactlyInAnyOrder("H", "Li");
+    assertThat(symbols(elementRepository.findByTypeContaining("gas")))
+        .containsExactlyInAnyOrder("He", "Ne");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void goesToTheDatabaseOnceARowIsSaved() {
+    elementRepository.save(new Element(2, "HE", "noble gas", 4.0026));
+    statistics.clear();
+
+    assertThat(symbols(elementRepository.findBySymbolStartingWithIgnoreCase("h")))
+        .containsExactlyInAnyOrder("H", "HE");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,72 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Rows saved through a repository are not in the cache yet, so answers that rely on the cache
+// holding every row must go to the database until the entity is loaded again
+@SpringBootTest(classes = SampleApplication.class)
+class RepositoryWriteTest {
+
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008), new Element(2, "He", "noble gas", 4.0026)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+  }
+
+  @Test
+  void answersFromTheCacheOnceFullyLoaded() {
+    assertThat(hoarderCache.isFullyLoaded(Element.class)).isTrue();
+    assertThat(elementRepository.count()).isEqualTo(2);
+    assertThat(elementRepository.existsById(3)).isFalse();
+  }
+
+  @Test
+  void seesSavedRowsInExistsAndCount() {
+    elementRepository.save(new Element(3, "Li", "alkali metal", 6.94));
+
+    assertThat(hoarderCache.isFullyLoaded(Element.class)).isFalse();
+    assertThat(elementRepository.existsById(3)).isTrue();
+    assertThat(elementRepository.count()).isEqualTo(3);
+    assertThat(elementRepository.existsBySymbol("Li")).isTrue();
+    assertThat(elementRepository.countByType("alkali metal")).isEqualTo(1);
+  }
+
+  @Test
+  void seesDeletedRowsInExistsAndCount() {
+    elementRepository.deleteById(2);
+
+    assertThat(elementRepository.existsById(2)).isFalse();
+    assertThat(elementRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void answersFromTheCacheAgainAfterAReload() {
+    elementRepository.save(new Element(3, "Li", "alkali metal", 6.94));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+
+    assertThat(hoarderCache.isFullyLoaded(Element.class)).isTrue();
+    assertThat(elementRepository.count()).isEqualTo(3);
+    assertThat(elementRepository.existsById(3)).isTrue();
+  }
+}
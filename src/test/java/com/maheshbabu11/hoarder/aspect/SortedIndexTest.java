@@ -0,0 +1,74 @@
+package com.maheshbabu11.hoarder.aspect;
+
+import com.maheshbabu11.hoarder.core.HoarderCache;
+import com.maheshbabu11.hoarder.core.HoarderInitializer;
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SortedIndexTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008),
+            new Element(2, "He", "noble gas", 4.0026),
+            new Element(3, "Li", "alkali metal", 6.94),
+            new Element(4, "Be", "alkaline earth metal", 9.012)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private static List<String> symbols(List<Element> elements) {
+    return elements.stream().map(Element::getSymbol).toList();
+  }
+
+  @Test
+  void servesRangesFromTheSortedIndex() {
+    assertThat(symbols(elementRepository.findByMassBetween(2.0, 8.0))).containsExactly("He", "Li");
+    assertThat(symbols(elementRepository.findAllByMassGreaterThanOrderByMassDesc(4.0026)))
+        .containsExactly("Be", "Li");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void servesTopNFromTheSortedIndex() {
+    assertThat(symbols(elementRepository.findTop2ByOrderByMassDesc())).containsExactly("Be", "Li");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void goesToTheDatabaseOnceARowIsSaved() {
+    elementRepository.save(new Element(5, "B", "metalloid", 10.81));
+    statistics.clear();
+
+    assertThat(symbols(elementRepository.findTop2ByOrderByMassDesc())).containsExactly("B", "Be");
+    assertThat(symbols(elementRepository.findByMassBetween(9.0, 11.0))).containsExactly("Be", "B");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,130 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.sample.Lab;
+import com.maheshbabu11.hoarder.sample.LabRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// With hourly intervals, 20 reads make 0.17 reads per minute in the first evaluation
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "hoarder.cache.adaptive.enabled=true",
+      "hoarder.cache.adaptive.interval-seconds=3600",
+      "hoarder.cache.adaptive.min-reads-per-minute=0.1",
+      "hoarder.cache.adaptive.cold-reads-per-minute=0.08",
+      "hoarder.cache.adaptive.max-write-ratio=0.5"
+    })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AdaptiveHoarderTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private LabRepository labRepository;
+  @Autowired private AdaptiveHoarder adaptiveHoarder;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderProperties hoarderProperties;
+
+  @BeforeEach
+  void saveLabs() {
+    labRepository.saveAll(List.of(new Lab(1L, "North"), new Lab(2L, "South")));
+  }
+
+  @AfterEach
+  void dropPromotedRows() {
+    hoarderCache.clearForEntity(Lab.class);
+  }
+
+  private void read(int times) {
+    for (int i = 0; i < times; i++) {
+      labRepository.findById(1L);
+    }
+  }
+
+  // Runs what the scheduled evaluation runs, without waiting for its interval
+  private void evaluate() {
+    ReflectionTestUtils.invokeMethod(adaptiveHoarder, "evaluate");
+  }
+
+  @Test
+  void promotesReadHeavyEntitiesAndServesThemFromTheCache() {
+    read(20);
+    evaluate();
+
+    assertThat(adaptiveHoarder.getServedEntity("Lab")).isEqualTo(Lab.class);
+    assertThat(adaptiveHoarder.getPromotions()).isEqualTo(1);
+    assertThat(adaptiveHoarder.getPromotedRows()).isEqualTo(2);
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    assertThat(labRepository.findById(2L)).map(Lab::getName).contains("South");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void leavesRarelyReadAndOversizedEntitiesAlone() {
+    read(5);
+    evaluate();
+    assertThat(adaptiveHoarder.getPromotedEntity("Lab")).isNull();
+
+    hoarderProperties.getCache().getAdaptive().setMaxRowsPerEntity(1);
+    read(20);
+    evaluate();
+    assertThat(adaptiveHoarder.getPromotedEntity("Lab")).isNull();
+    assertThat(adaptiveHoarder.getTraffic())
+        .filteredOn(traffic -> traffic.entityName().equals("Lab"))
+        .singleElement()
+        .satisfies(traffic -> assertThat(traffic.rows()).isEqualTo(2));
+  }
+
+  @Test
+  void reloadsAfterWritesAndDemotesOnceCold() {
+    read(20);
+    evaluate();
+    labRepository.save(new Lab(3L, "East"));
+
+    // Not served until the next evaluation reloads it
+    assertThat(adaptiveHoarder.getServedEntity("Lab")).isNull();
+    read(20);
+    evaluate();
+    assertThat(adaptiveHoarder.getServedEntity("Lab")).isEqualTo(Lab.class);
+    assertThat(hoarderCache.get(Lab.class, 3L)).isPresent();
+
+    // Reads per minute halve in every quiet interval: 0.13, then 0.06
+    evaluate();
+    assertThat(adaptiveHoarder.getPromotedEntity("Lab")).isEqualTo(Lab.class);
+    evaluate();
+    assertThat(adaptiveHoarder.getPromotedEntity("Lab")).isNull();
+    assertThat(adaptiveHoarder.getDemotions()).isEqualTo(1);
+    assertThat(hoarderCache.get(Lab.class, 1L)).isEmpty();
+  }
+
+  @Test
+  void demotesWriteHeavyEntities() {
+    read(20);
+    evaluate();
+    assertThat(adaptiveHoarder.getPromotedEntity("Lab")).isEqualTo(Lab.class);
+
+    read(20);
+    for (long id = 3; id < 33; id++) {
+      labRepository.save(new Lab(id, "Annex " + id));
+    }
+    evaluate();
+
+    assertThat(adaptiveHoarder.getPromotedEntity("Lab")).isNull();
+    assertThat(adaptiveHoarder.getDemotions()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,116 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SampleApplication.class)
+class CriteriaEvaluatorTest {
+
+  @Autowired private CriteriaEvaluator criteriaEvaluator;
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008),
+            new Element(2, "He", "noble gas", 4.0026),
+            new Element(3, "Li", "alkali metal", 6.94),
+            new Element(10, "Ne", "noble gas", null)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+  }
+
+  private List<Integer> atomicNumbers(Optional<List<Object>> result) {
+    assertThat(result).isPresent();
+    return result.get().stream().map(element -> ((Element) element).getAtomicNumber()).toList();
+  }
+
+  @Test
+  void evaluatesEqualityAndRanges() {
+    Specification<Element> nobleAndLight =
+        (root, query, cb) ->
+            cb.and(cb.equal(root.get("type"), "noble gas"), cb.lessThan(root.get("mass"), 5.0));
+
+    assertThat(atomicNumbers(criteriaEvaluator.findAll(Element.class, nobleAndLight)))
+        .containsExactly(2);
+  }
+
+  @Test
+  void treatsComparisonsWithNullAsUnknown() {
+    Specification<Element> heavy = (root, query, cb) -> cb.greaterThan(root.get("mass"), 2.0);
+    Specification<Element> notHeavy =
+        (root, query, cb) -> cb.not(heavy.toPredicate(root, query, cb));
+
+    // Neon has no mass, so it matches neither the predicate nor its negation, as in SQL
+    assertThat(atomicNumbers(criteriaEvaluator.findAll(Element.class, heavy)))
+        .containsExactlyInAnyOrder(2, 3);
+    assertThat(atomicNumbers(criteriaEvaluator.findAll(Element.class, notHeavy)))
+        .containsExactly(1);
+  }
+
+  @Test
+  void evaluatesNullnessLikeAndInList() {
+    Specification<Element> spec =
+        (root, query, cb) ->
+            cb.or(
+                cb.isNull(root.get("mass")),
+                cb.like(root.get("symbol"), "L%"),
+                root.get("atomicNumber").in(1));
+
+    assertThat(atomicNumbers(criteriaEvaluator.findAll(Element.class, spec)))
+        .containsExactlyInAnyOrder(1, 3, 10);
+  }
+
+  @Test
+  void evaluatesExamples() {
+    Element probe = new Element(null, null, "noble gas", null);
+
+    assertThat(atomicNumbers(criteriaEvaluator.findAll(Element.class, Example.of(probe))))
+        .containsExactlyInAnyOrder(2, 10);
+  }
+
+  @Test
+  void evaluatesCaseInsensitiveExamples() {
+    Element probe = new Element(null, "he", null, null);
+    ExampleMatcher matcher = ExampleMatcher.matching().withIgnoreCase();
+
+    assertThat(atomicNumbers(criteriaEvaluator.findAll(Element.class, Example.of(probe, matcher))))
+        .containsExactly(2);
+  }
+
+  @Test
+  void fallsBackForOrderingAndJoins() {
+    Specification<Element> ordered =
+        (root, query, cb) -> {
+          query.orderBy(cb.asc(root.get("symbol")));
+          return cb.equal(root.get("type"), "noble gas");
+        };
+
+    assertThat(criteriaEvaluator.findAll(Element.class, ordered)).isEmpty();
+  }
+
+  @Test
+  void fallsBackUntilTheEntityIsFullyLoaded() {
+    hoarderCache.recordWrite(Element.class);
+    Specification<Element> all = (root, query, cb) -> cb.equal(root.get("type"), "noble gas");
+
+    assertThat(criteriaEvaluator.findAll(Element.class, all)).isEmpty();
+  }
+}
@@ -0,0 +1,92 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.sample.Isotope;
+import com.maheshbabu11.hoarder.sample.IsotopeRepository;
+import com.maheshbabu11.hoarder.sample.Reaction;
+import com.maheshbabu11.hoarder.sample.ReactionRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DeferredLoadTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private IsotopeRepository isotopeRepository;
+  @Autowired private ReactionRepository reactionRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void startWithRows() {
+    isotopeRepository.deleteAll();
+    isotopeRepository.saveAll(
+        List.of(new Isotope(1L, "C-12", "C"), new Isotope(2L, "C-14", "C")));
+    reactionRepository.deleteAll();
+    reactionRepository.saveAll(
+        List.of(
+            new Reaction(1L, "redox", "2H2 + O2 -> 2H2O"),
+            new Reaction(2L, "redox", "Fe + Cu2+ -> Fe2+ + Cu"),
+            new Reaction(3L, "acid-base", "HCl + NaOH -> NaCl + H2O")));
+    hoarderCache.clearForEntity(Isotope.class);
+    hoarderCache.clearForEntity(Reaction.class);
+    // Registers the deferred entities again, as on a start with these rows in the table
+    hoarderInitializer.initializeCache();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void lazyEntitiesFillFromSingleRowMisses() {
+    assertThat(hoarderCache.get(Isotope.class, 1L)).isEmpty();
+
+    assertThat(isotopeRepository.findById(1L)).map(Isotope::getName).contains("C-12");
+    assertThat(isotopeRepository.findByName("C-14")).map(Isotope::getId).contains(2L);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+    statistics.clear();
+    assertThat(isotopeRepository.findById(1L)).map(Isotope::getName).contains("C-12");
+    assertThat(isotopeRepository.findByName("C-14")).map(Isotope::getId).contains(2L);
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    // Never fully loaded, so list queries keep using the database
+    assertThat(isotopeRepository.findAllBySymbol("C")).hasSize(2);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(hoarderCache.isFullyLoaded(Isotope.class)).isFalse();
+  }
+
+  @Test
+  void firstAccessStartsAFullLoadInTheBackground() {
+    assertThat(hoarderCache.hasPendingLoad(Reaction.class)).isTrue();
+    assertThat(hoarderCache.get(Reaction.class, 1L)).isEmpty();
+
+    // The first call is answered by the database while the load runs
+    assertThat(reactionRepository.findAllByKind("redox")).hasSize(2);
+    assertThat(hoarderCache.hasPendingLoad(Reaction.class)).isFalse();
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .until(() -> hoarderCache.isFullyLoaded(Reaction.class));
+
+    statistics.clear();
+    assertThat(reactionRepository.findAllByKind("redox"))
+        .extracting(Reaction::getId)
+        .containsExactlyInAnyOrder(1L, 2L);
+    assertThat(reactionRepository.findAllByKind("acid-base")).hasSize(1);
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+}
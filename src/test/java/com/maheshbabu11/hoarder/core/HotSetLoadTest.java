@@ -0,0 +1,52 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.sample.Measurement;
+import com.maheshbabu11.hoarder.sample.MeasurementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SampleApplication.class)
+class HotSetLoadTest {
+
+  @Autowired private MeasurementRepository measurementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+  @Autowired private HotSetTracker hotSetTracker;
+
+  @BeforeEach
+  void saveMeasurements() {
+    measurementRepository.deleteAll();
+    measurementRepository.saveAll(
+        List.of(
+            new Measurement(1L, "baseline"),
+            new Measurement(2L, "peak"),
+            new Measurement(3L, "drift")));
+    hoarderCache.clearForEntity(Measurement.class);
+  }
+
+  @Test
+  void preloadsOnlyTheKeysAccessedInThePreviousRun() {
+    for (int i = 0; i < 10; i++) {
+      measurementRepository.findById(2L);
+    }
+    hotSetTracker.persist();
+    hoarderCache.clearForEntity(Measurement.class);
+
+    // Starts over as on the next run, which reads the persisted hot set
+    hoarderInitializer.initializeCache();
+
+    assertThat(hoarderCache.get(Measurement.class, 2L)).isPresent();
+    assertThat(hoarderCache.get(Measurement.class, 1L)).isEmpty();
+    assertThat(hoarderCache.isFullyLoaded(Measurement.class)).isFalse();
+    // Other rows still come from the database and are cached from the miss
+    assertThat(measurementRepository.findById(3L)).map(Measurement::getLabel).contains("drift");
+    assertThat(hoarderCache.get(Measurement.class, 3L)).isPresent();
+  }
+}
@@ -0,0 +1,75 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotSetTrackerTest {
+
+  private static class Sample {}
+
+  @TempDir Path directory;
+
+  private HotSetTracker newTracker(int size) {
+    HoarderProperties properties = new HoarderProperties();
+    properties.getCache().getHotSet().setDirectory(directory.toString());
+    properties.getCache().getHotSet().setSize(size);
+    return new HotSetTracker(properties, new HoarderLogger(properties));
+  }
+
+  private static void access(HotSetTracker tracker, Object key, int times) {
+    for (int i = 0; i < times; i++) {
+      tracker.recordAccess(Sample.class, key);
+    }
+  }
+
+  @Test
+  void restoresTheHottestKeysOfThePreviousRun() {
+    HotSetTracker first = newTracker(100);
+    assertThat(first.track(Sample.class, Long.class)).isEmpty();
+    access(first, 7L, 50);
+    access(first, 3L, 20);
+    access(first, 9L, 5);
+    // Keys of another type, e.g. the list of findAllById, are not recorded
+    access(first, 7, 100);
+    first.shutdown();
+
+    assertThat(directory.resolve(Sample.class.getName() + ".hotset")).exists();
+    assertThat(newTracker(100).track(Sample.class, Long.class)).containsExactly(7L, 3L, 9L);
+  }
+
+  @Test
+  void keepsOnlyTheConfiguredNumberOfKeys() {
+    HotSetTracker first = newTracker(2);
+    first.track(Sample.class, Long.class);
+    access(first, 1L, 30);
+    access(first, 2L, 20);
+    access(first, 3L, 10);
+    first.shutdown();
+
+    assertThat(newTracker(2).track(Sample.class, Long.class)).containsExactly(1L, 2L);
+  }
+
+  @Test
+  void ignoresFilesOfAnotherIdType() {
+    HotSetTracker first = newTracker(100);
+    first.track(Sample.class, String.class);
+    access(first, "a", 3);
+    first.shutdown();
+
+    assertThat(newTracker(100).track(Sample.class, Long.class)).isEmpty();
+  }
+
+  @Test
+  void ignoresUnreadableFiles() throws Exception {
+    Files.writeString(directory.resolve(Sample.class.getName() + ".hotset"), "not a hot set");
+
+    assertThat(newTracker(100).track(Sample.class, Long.class)).isEmpty();
+  }
+}
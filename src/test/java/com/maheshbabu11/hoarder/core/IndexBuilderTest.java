@@ -0,0 +1,83 @@
+package com.maheshbabu11.hoarder.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndexBuilderTest {
+
+  private record Row(Integer id, String group) {}
+
+  private static Map<String, Function<Object, Object>> groupColumn() {
+    Map<String, Function<Object, Object>> extractors = new LinkedHashMap<>();
+    extractors.put("group", row -> ((Row) row).group());
+    return extractors;
+  }
+
+  @Test
+  void indexesEveryRowByIdAndColumn() {
+    List<Row> rows = List.of(new Row(1, "a"), new Row(2, "b"), new Row(3, "a"));
+
+    IndexBuilder.Result result =
+        new IndexBuilder(row -> ((Row) row).id(), groupColumn()).build(rows);
+
+    assertThat(result.ids()).containsOnlyKeys(1, 2, 3).containsEntry(2, rows.get(1));
+    assertThat(result.columns().get("group").get("a")).containsExactly(rows.get(0), rows.get(2));
+    assertThat(result.columns().get("group").get("b")).containsExactly(rows.get(1));
+    assertThat(result.columnsWithNulls()).isEmpty();
+  }
+
+  @Test
+  void keepsRowOrderInBucketsAcrossChunks() {
+    // Large enough to be split into several chunks on a multi-core machine
+    List<Row> rows = new ArrayList<>();
+    IntStream.range(0, 10_000).forEach(i -> rows.add(new Row(i, i % 2 == 0 ? "even" : "odd")));
+
+    IndexBuilder.Result result =
+        new IndexBuilder(row -> ((Row) row).id(), groupColumn()).build(rows);
+
+    assertThat(result.ids()).hasSize(10_000);
+    List<Object> even = result.columns().get("group").get("even");
+    assertThat(even).hasSize(5_000);
+    for (int i = 0; i < even.size(); i++) {
+      assertThat(((Row) even.get(i)).id()).isEqualTo(i * 2);
+    }
+  }
+
+  @Test
+  void reportsColumnsWithNullsWithoutIndexingThem() {
+    List<Row> rows = List.of(new Row(1, null), new Row(2, "a"), new Row(null, "b"));
+
+    IndexBuilder.Result result =
+        new IndexBuilder(row -> ((Row) row).id(), groupColumn()).build(rows);
+
+    assertThat(result.ids()).containsOnlyKeys(1, 2);
+    assertThat(result.columns().get("group")).containsOnlyKeys("a", "b");
+    assertThat(result.columnsWithNulls()).containsExactly("group");
+  }
+
+  @Test
+  void skipsTheIdMapWithoutAnIdExtractor() {
+    IndexBuilder.Result result =
+        new IndexBuilder(null, groupColumn()).build(List.of(new Row(1, "a")));
+
+    assertThat(result.ids()).isNull();
+    assertThat(result.columns().get("group").get("a")).hasSize(1);
+  }
+
+  @Test
+  void buildsEmptyIndexesForNoRows() {
+    IndexBuilder.Result result =
+        new IndexBuilder(row -> ((Row) row).id(), groupColumn()).build(List.of());
+
+    assertThat(result.ids()).isEmpty();
+    assertThat(result.columns().get("group")).isEmpty();
+  }
+}
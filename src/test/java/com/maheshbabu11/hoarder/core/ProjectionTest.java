@@ -0,0 +1,73 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.sample.Mineral;
+import com.maheshbabu11.hoarder.sample.MineralRepository;
+import com.maheshbabu11.hoarder.sample.MineralRow;
+import com.maheshbabu11.hoarder.sample.MineralView;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ProjectionTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private MineralRepository mineralRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void loadMinerals() {
+    mineralRepository.deleteAll();
+    mineralRepository.saveAll(
+        List.of(
+            new Mineral(1L, "Halite", "cubic", "Rock salt"),
+            new Mineral(2L, "Pyrite", "cubic", "Fool's gold"),
+            new Mineral(3L, "Quartz", "trigonal", "Silica")));
+    hoarderCache.clearForEntity(Mineral.class);
+    hoarderInitializer.loadEntity(Mineral.class);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void cachesRecordsInsteadOfEntities() {
+    assertThat(hoarderCache.getCachedType(Mineral.class)).isEqualTo(MineralRow.class);
+    // The cache holds the record, whatever type get() is called with
+    Optional<?> cached = hoarderCache.get(Mineral.class, 1L);
+    assertThat(cached).get().isEqualTo(new MineralRow(1L, "Halite", "cubic"));
+  }
+
+  @Test
+  void servesRecordAndInterfaceFindersFromTheCache() {
+    assertThat(mineralRepository.findRowById(2L)).contains(new MineralRow(2L, "Pyrite", "cubic"));
+    assertThat(mineralRepository.findRowByName("Quartz"))
+        .contains(new MineralRow(3L, "Quartz", "trigonal"));
+    assertThat(mineralRepository.findAllByCrystalSystem("cubic"))
+        .extracting(MineralView::name)
+        .containsExactlyInAnyOrder("Halite", "Pyrite");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void loadsEntitiesFromTheDatabase() {
+    assertThat(mineralRepository.findById(1L))
+        .map(Mineral::getDescription)
+        .contains("Rock salt");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,113 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.util.CacheAnalyzer;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryResultCacheTest {
+
+  // Generations are static, so every test tags its own entity class
+  private static final class Tagged {}
+
+  private static final class OtherTagged {}
+
+  private HoarderProperties properties;
+  private HoarderCache hoarderCache;
+  private QueryResultCache queryResultCache;
+  private Method method;
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws NoSuchMethodException {
+    properties = new HoarderProperties();
+    HoarderLogger logger = new HoarderLogger(properties);
+    hoarderCache = new HoarderCache(properties, logger, new CacheAnalyzer(logger));
+    queryResultCache = new QueryResultCache(hoarderCache, properties, logger);
+    method = QueryResultCacheTest.class.getDeclaredMethod("query", String.class);
+  }
+
+  private static List<String> query(String argument) {
+    return new ArrayList<>(List.of(argument));
+  }
+
+  private Object load(String argument, Class<?>... entities) throws Throwable {
+    return queryResultCache.getOrLoad(
+        method,
+        new Object[] {argument},
+        entities,
+        0,
+        () -> {
+          loads.incrementAndGet();
+          return query(argument);
+        });
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void returnsTheSameReadOnlyCopyToEveryCaller() throws Throwable {
+    Object first = load("a", Tagged.class);
+    Object second = load("a", Tagged.class);
+
+    assertThat(loads).hasValue(1);
+    assertThat(second).isSameAs(first);
+    assertThatThrownBy(() -> ((List<Object>) first).add("b"))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void reloadsAfterAWriteToATaggedEntity() throws Throwable {
+    load("a", Tagged.class, OtherTagged.class);
+    hoarderCache.recordWrite(OtherTagged.class);
+    load("a", Tagged.class, OtherTagged.class);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void keysResultsByArguments() throws Throwable {
+    assertThat(load("a", Tagged.class)).isEqualTo(List.of("a"));
+    assertThat(load("b", Tagged.class)).isEqualTo(List.of("b"));
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void cachesNullResults() throws Throwable {
+    for (int i = 0; i < 2; i++) {
+      Object result =
+          queryResultCache.getOrLoad(
+              method,
+              new Object[] {"missing"},
+              new Class<?>[] {Tagged.class},
+              0,
+              () -> {
+                loads.incrementAndGet();
+                return null;
+              });
+      assertThat(result).isNull();
+    }
+
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void evictsTheLeastRecentlyUsedBeyondTheLimit() throws Throwable {
+    properties.getCache().getQueryResults().setMaxEntries(10);
+    for (int i = 0; i <= 10; i++) {
+      load("key" + i, Tagged.class);
+    }
+    load("key0", Tagged.class);
+
+    assertThat(loads).hasValue(12);
+  }
+}
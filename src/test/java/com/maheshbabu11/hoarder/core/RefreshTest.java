@@ -0,0 +1,76 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.Isotope;
+import com.maheshbabu11.hoarder.sample.IsotopeRepository;
+import com.maheshbabu11.hoarder.sample.Reaction;
+import com.maheshbabu11.hoarder.sample.ReactionRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SampleApplication.class)
+class RefreshTest {
+
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private IsotopeRepository isotopeRepository;
+  @Autowired private ReactionRepository reactionRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008), new Element(2, "He", "noble gas", 4.0026)));
+    isotopeRepository.deleteAll();
+    isotopeRepository.save(new Isotope(1L, "C-12", "C"));
+    reactionRepository.deleteAll();
+    reactionRepository.save(new Reaction(1L, "redox", "2H2 + O2 -> 2H2O"));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderCache.clearForEntity(Isotope.class);
+    hoarderCache.clearForEntity(Reaction.class);
+    hoarderInitializer.initializeCache();
+  }
+
+  // Runs what the scheduled refresh runs, without waiting for its interval
+  private void refresh() {
+    ReflectionTestUtils.invokeMethod(hoarderInitializer, "refreshEntities");
+  }
+
+  @Test
+  void reloadsEntitiesWhoseFullLoadWasInvalidated() {
+    elementRepository.save(new Element(3, "Li", "alkali metal", 6.94));
+    elementRepository.deleteById(1);
+    assertThat(hoarderCache.isFullyLoaded(Element.class)).isFalse();
+
+    refresh();
+
+    assertThat(hoarderCache.isFullyLoaded(Element.class)).isTrue();
+    assertThat(hoarderCache.get(Element.class, 3)).isPresent();
+    assertThat(hoarderCache.get(Element.class, 1)).isEmpty();
+    assertThat(hoarderCache.getAllByColumn(Element.class, "type", "nonmetal")).isEmpty();
+    assertThat(elementRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void leavesLazyEntitiesAndPendingLoadsAlone() {
+    isotopeRepository.findById(1L);
+
+    refresh();
+
+    assertThat(hoarderCache.isFullyLoaded(Isotope.class)).isFalse();
+    assertThat(hoarderCache.get(Isotope.class, 1L)).isPresent();
+    assertThat(hoarderCache.hasPendingLoad(Reaction.class)).isTrue();
+    assertThat(hoarderCache.get(Reaction.class, 1L)).isEmpty();
+  }
+}
@@ -0,0 +1,89 @@
+package com.maheshbabu11.hoarder.core;
+
+import com.maheshbabu11.hoarder.sample.Element;
+import com.maheshbabu11.hoarder.sample.ElementRepository;
+import com.maheshbabu11.hoarder.sample.SampleApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    classes = SampleApplication.class,
+    properties = {
+      "hoarder.cache.second-level.enabled=true",
+      "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+class SecondLevelCacheTest {
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private ElementRepository elementRepository;
+  @Autowired private HoarderCache hoarderCache;
+  @Autowired private HoarderInitializer hoarderInitializer;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void loadElements() {
+    elementRepository.deleteAll();
+    elementRepository.saveAll(
+        List.of(
+            new Element(1, "H", "nonmetal", 1.008), new Element(2, "He", "noble gas", 4.0026)));
+    hoarderCache.clearForEntity(Element.class);
+    hoarderInitializer.loadEntity(Element.class);
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  private Element find(Object id) {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      return entityManager.find(Element.class, id);
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  @Test
+  void servesFindFromTheHoarderCacheWithoutSql() {
+    Element element = find(2);
+
+    assertThat(element.getSymbol()).isEqualTo("He");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void goesToTheDatabaseForRowsNotInTheCache() {
+    hoarderCache.evict(Element.class, 1);
+
+    assertThat(find(1).getSymbol()).isEqualTo("H");
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void evictsOnlyTheUpdatedRow() {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      entityManager.find(Element.class, 1).setMass(1.0);
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+
+    assertThat(hoarderCache.get(Element.class, 1)).isEmpty();
+    assertThat(hoarderCache.get(Element.class, 2)).isPresent();
+    statistics.clear();
+    assertThat(find(2).getSymbol()).isEqualTo("He");
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+}
@@ -0,0 +1,177 @@
+package com.maheshbabu11.hoarder.processor;
+
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.core.HoardedEntityDescriptor;
+import jakarta.persistence.Entity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compiles small entities with the processor and loads the descriptors it generates
+class HoardedEntityProcessorTest {
+
+  private static final String SERVICE_FILE =
+      "META-INF/services/" + HoardedEntityDescriptor.class.getName();
+
+  private static final String BASE_ENTITY =
+      """
+      package mining;
+
+      @jakarta.persistence.MappedSuperclass
+      public abstract class BaseEntity {
+        @jakarta.persistence.Id protected Long id;
+      }
+      """;
+
+  private static final String ORE =
+      """
+      package mining;
+
+      import com.maheshbabu11.hoarder.annotation.Hoarded;
+      import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+
+      @jakarta.persistence.Entity
+      @Hoarded
+      public class Ore extends BaseEntity {
+        @HoardedColumn private String name;
+        @HoardedColumn String grade;
+        @HoardedColumn private boolean active;
+        @HoardedColumn private String secret;
+
+        public Ore(Long id, String name, String grade, boolean active, String secret) {
+          this.id = id;
+          this.name = name;
+          this.grade = grade;
+          this.active = active;
+          this.secret = secret;
+        }
+
+        public String getName() {
+          return name;
+        }
+
+        public boolean isActive() {
+          return active;
+        }
+      }
+      """;
+
+  private static final String MINE =
+      """
+      package mining;
+
+      public class Mine {
+        @jakarta.persistence.Entity
+        @com.maheshbabu11.hoarder.annotation.Hoarded
+        public static class Shaft {
+          @jakarta.persistence.Id public Integer number;
+        }
+      }
+      """;
+
+  @TempDir Path directory;
+
+  private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+  private Path compile(Map<String, String> sources) throws Exception {
+    Path sourceDir = Files.createDirectories(directory.resolve("src/mining"));
+    Path generatedDir = Files.createDirectories(directory.resolve("generated"));
+    Path classesDir = Files.createDirectories(directory.resolve("classes"));
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      Files.writeString(sourceDir.resolve(source.getKey() + ".java"), source.getValue());
+    }
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager =
+            compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+        Stream<Path> files = Files.list(sourceDir)) {
+      List<String> options =
+          List.of(
+              "-classpath",
+              locationOf(Hoarded.class) + File.pathSeparator + locationOf(Entity.class),
+              "-processor",
+              HoardedEntityProcessor.class.getName(),
+              "-d",
+              classesDir.toString(),
+              "-s",
+              generatedDir.toString());
+      Iterable<? extends JavaFileObject> units =
+          fileManager.getJavaFileObjectsFromPaths(files.toList());
+      boolean compiled =
+          compiler.getTask(null, fileManager, diagnostics, options, null, units).call();
+      assertThat(compiled).as(diagnostics.getDiagnostics().toString()).isTrue();
+    }
+    return classesDir;
+  }
+
+  private static String locationOf(Class<?> type) throws URISyntaxException {
+    return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+  }
+
+  @Test
+  void generatesDescriptorsAndListsThemAsServices() throws Exception {
+    Path classes = compile(Map.of("BaseEntity", BASE_ENTITY, "Ore", ORE, "Mine", MINE));
+
+    assertThat(directory.resolve("generated/mining/Ore_HoardedDescriptor.java")).exists();
+    assertThat(directory.resolve("generated/mining/Mine_Shaft_HoardedDescriptor.java")).exists();
+    assertThat(Files.readAllLines(classes.resolve(SERVICE_FILE)))
+        .containsExactly("mining.Mine_Shaft_HoardedDescriptor", "mining.Ore_HoardedDescriptor");
+  }
+
+  @Test
+  void readsColumnsThroughFieldsAndGetters() throws Exception {
+    Path classes = compile(Map.of("BaseEntity", BASE_ENTITY, "Ore", ORE, "Mine", MINE));
+
+    try (URLClassLoader loader =
+        new URLClassLoader(new URL[] {classes.toUri().toURL()}, getClass().getClassLoader())) {
+      HoardedEntityDescriptor descriptor =
+          (HoardedEntityDescriptor)
+              loader
+                  .loadClass("mining.Ore_HoardedDescriptor")
+                  .getConstructor()
+                  .newInstance();
+      Class<?> oreClass = loader.loadClass("mining.Ore");
+      Object ore =
+          oreClass
+              .getConstructor(Long.class, String.class, String.class, boolean.class, String.class)
+              .newInstance(7L, "Hematite", "high", true, "hidden");
+
+      assertThat(descriptor.entityClass()).isEqualTo(oreClass);
+      // The @Id is inherited from the @MappedSuperclass in the same package
+      assertThat(descriptor.idProperty()).isEqualTo("id");
+      assertThat(descriptor.idAccessor().apply(ore)).isEqualTo(7L);
+      assertThat(descriptor.columnAccessors()).containsOnlyKeys("name", "grade", "active");
+      assertThat(descriptor.columnAccessors().get("name").apply(ore)).isEqualTo("Hematite");
+      assertThat(descriptor.columnAccessors().get("grade").apply(ore)).isEqualTo("high");
+      assertThat(descriptor.columnAccessors().get("active").apply(ore)).isEqualTo(true);
+    }
+  }
+
+  @Test
+  void leavesInaccessibleColumnsToReflection() throws Exception {
+    compile(Map.of("BaseEntity", BASE_ENTITY, "Ore", ORE));
+
+    assertThat(diagnostics.getDiagnostics())
+        .filteredOn(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.NOTE)
+        .extracting(diagnostic -> diagnostic.getMessage(null))
+        .contains("No accessible field or getter for 'secret', left to reflection");
+  }
+}
@@ -0,0 +1,22 @@
+package com.maheshbabu11.hoarder.sample;
+
+import com.maheshbabu11.hoarder.annotation.HitPolicy;
+import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Hoarded(hitPolicy = HitPolicy.COPY)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Category {
+
+  @Id private Long id;
+
+  @HoardedColumn private String name;
+}
@@ -0,0 +1,5 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CategoryRepository extends JpaRepository<Category, Long> {}
@@ -0,0 +1,43 @@
+package com.maheshbabu11.hoarder.sample;
+
+import com.maheshbabu11.hoarder.annotation.HitPolicy;
+import com.maheshbabu11.hoarder.annotation.HoardedAssociation;
+import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Hoarded(hitPolicy = HitPolicy.READ_ONLY)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Compound {
+
+  @Id private Long id;
+
+  @HoardedColumn private String formula;
+
+  // Indexed by the category ID, e.g. for findAllByCategoryId
+  @ManyToOne(fetch = FetchType.LAZY)
+  @HoardedColumn
+  @HoardedAssociation
+  private Category category;
+
+  // Indexed by the lab name, e.g. for findAllByOrigin_Name
+  @ManyToOne(fetch = FetchType.LAZY)
+  @HoardedColumn(path = "name")
+  private Lab origin;
+
+  @ElementCollection(fetch = FetchType.EAGER)
+  private List<String> synonyms = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CompoundRepository extends JpaRepository<Compound, Long> {
+
+  List<Compound> findAllByCategoryId(Long categoryId);
+
+  List<Compound> findAllByOrigin_Name(String name);
+
+  Optional<Compound> findFirstByOrigin_Name(String name);
+
+  long countByCategoryId(Long categoryId);
+}
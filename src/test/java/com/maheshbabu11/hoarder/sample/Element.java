@@ -0,0 +1,30 @@
+package com.maheshbabu11.hoarder.sample;
+
+import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.annotation.IndexType;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Hoarded
+@Cacheable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Element {
+
+  @Id private Integer atomicNumber;
+
+  @HoardedColumn(index = IndexType.SORTED, ignoreCase = true)
+  private String symbol;
+
+  @HoardedColumn private String type;
+
+  @HoardedColumn(index = IndexType.SORTED)
+  private Double mass;
+}
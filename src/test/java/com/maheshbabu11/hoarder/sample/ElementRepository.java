@@ -0,0 +1,42 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface ElementRepository
+    extends JpaRepository<Element, Integer>, JpaSpecificationExecutor<Element> {
+
+  long countByType(String type);
+
+  boolean existsBySymbol(String symbol);
+
+  CompletableFuture<Optional<Element>> findBySymbol(String symbol);
+
+  List<Element> findByMassBetween(Double from, Double to);
+
+  List<Element> findAllByMassGreaterThanOrderByMassDesc(Double mass);
+
+  List<Element> findTop2ByOrderByMassDesc();
+
+  Optional<Element> findBySymbolIgnoreCase(String symbol);
+
+  List<Element> findBySymbolStartingWith(String prefix);
+
+  List<Element> findBySymbolStartingWithIgnoreCase(String prefix);
+
+  List<Element> findByTypeContaining(String fragment);
+
+  Page<Element> findAllByType(String type, Pageable pageable);
+
+  List<Element> findAllByType(String type, Sort sort);
+
+  Slice<Element> findBySymbolStartingWith(String prefix, Pageable pageable);
+}
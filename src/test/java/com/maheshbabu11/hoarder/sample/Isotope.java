@@ -0,0 +1,24 @@
+package com.maheshbabu11.hoarder.sample;
+
+import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.annotation.LoadMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Hoarded(loadMode = LoadMode.LAZY)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Isotope {
+
+  @Id private Long id;
+
+  @HoardedColumn private String name;
+
+  @HoardedColumn private String symbol;
+}
@@ -0,0 +1,13 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IsotopeRepository extends JpaRepository<Isotope, Long> {
+
+  Optional<Isotope> findByName(String name);
+
+  List<Isotope> findAllBySymbol(String symbol);
+}
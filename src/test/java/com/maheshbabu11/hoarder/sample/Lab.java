@@ -0,0 +1,18 @@
+package com.maheshbabu11.hoarder.sample;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Lab {
+
+  @Id private Long id;
+
+  private String name;
+}
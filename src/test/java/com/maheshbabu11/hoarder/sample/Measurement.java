@@ -0,0 +1,22 @@
+package com.maheshbabu11.hoarder.sample;
+
+import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import com.maheshbabu11.hoarder.annotation.LoadMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Hoarded(loadMode = LoadMode.HOT_SET)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Measurement {
+
+  @Id private Long id;
+
+  @HoardedColumn private String label;
+}
@@ -0,0 +1,26 @@
+package com.maheshbabu11.hoarder.sample;
+
+import com.maheshbabu11.hoarder.annotation.HoardedColumn;
+import com.maheshbabu11.hoarder.annotation.Hoarded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Hoarded(projection = MineralRow.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Mineral {
+
+  @Id private Long id;
+
+  @HoardedColumn private String name;
+
+  @HoardedColumn private String crystalSystem;
+
+  // Not part of the projection, so never loaded into the cache
+  private String description;
+}
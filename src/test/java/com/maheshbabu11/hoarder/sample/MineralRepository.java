@@ -0,0 +1,15 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MineralRepository extends JpaRepository<Mineral, Long> {
+
+  Optional<MineralRow> findRowById(Long id);
+
+  Optional<MineralRow> findRowByName(String name);
+
+  List<MineralView> findAllByCrystalSystem(String crystalSystem);
+}
@@ -0,0 +1,3 @@
+package com.maheshbabu11.hoarder.sample;
+
+public record MineralRow(Long id, String name, String crystalSystem) implements MineralView {}
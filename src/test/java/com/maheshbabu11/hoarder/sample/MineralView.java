@@ -0,0 +1,6 @@
+package com.maheshbabu11.hoarder.sample;
+
+public interface MineralView {
+
+  String name();
+}
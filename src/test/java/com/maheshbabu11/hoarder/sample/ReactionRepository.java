@@ -0,0 +1,10 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ReactionRepository extends JpaRepository<Reaction, Long> {
+
+  List<Reaction> findAllByKind(String kind);
+}
@@ -0,0 +1,7 @@
+package com.maheshbabu11.hoarder.sample;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+// Application the integration tests start against an in-memory H2 database
+@SpringBootApplication
+public class SampleApplication {}
@@ -0,0 +1,80 @@
+package com.maheshbabu11.hoarder.simulator;
+
+import com.maheshbabu11.hoarder.config.HoarderProperties;
+import com.maheshbabu11.hoarder.core.TraceRecorder;
+import com.maheshbabu11.hoarder.util.HoarderLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TraceSimulatorTest {
+
+  private record Element(Long id) {}
+
+  @TempDir Path directory;
+
+  private TraceRecorder openRecorder() {
+    HoarderProperties properties = new HoarderProperties();
+    properties.getTrace().setEnabled(true);
+    properties.getTrace().setDirectory(directory.toString());
+    properties.getTrace().setMaxSizeMb(1);
+    TraceRecorder recorder = new TraceRecorder(properties, new HoarderLogger(properties));
+    recorder.open();
+    return recorder;
+  }
+
+  @Test
+  void reportsHitRatiosOfAKnownTrace() throws IOException {
+    TraceRecorder recorder = openRecorder();
+    long[] keys = {1, 2, 1, 3, 1, 2};
+    for (int i = 0; i < keys.length; i++) {
+      recorder.record(Element.class, "id", keys[i], i == 2 || i == 4);
+    }
+    recorder.close();
+
+    TraceSimulator simulator = TraceSimulator.read(recorder.getFile());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    List<CachePolicy> policies =
+        List.of(new LruPolicy(Integer.MAX_VALUE, 0), new LruPolicy(2, 0), new LruPolicy(1, 0));
+    simulator.report(new PrintStream(output, true, StandardCharsets.UTF_8), policies, 1024);
+
+    String report = output.toString(StandardCharsets.UTF_8);
+    assertThat(report)
+        .contains("Trace: 6 lookups, 3 distinct keys, recorded hit ratio 33.33%")
+        .contains("Channels: Element.id");
+    // Unbounded: only the first lookup of each key misses. LRU(2) evicts 2 when 3 arrives.
+    assertThat(report).containsPattern("LRU\\(unbounded\\)\\s+50\\.00%\\s+3\\s+3\\s+3\\s+3\\.0 KB");
+    assertThat(report).containsPattern("LRU\\(2\\)\\s+33\\.33%\\s+4\\s+2\\s+2\\s+2\\.0 KB");
+    assertThat(report).containsPattern("LRU\\(1\\)\\s+0\\.00%\\s+6\\s+0\\s+1\\s+1\\.0 KB");
+  }
+
+  @Test
+  void everyRunWritesItsOwnFile() throws IOException {
+    TraceRecorder first = openRecorder();
+    first.record(Element.class, "id", 1L, false);
+    first.close();
+    TraceRecorder second = openRecorder();
+    second.close();
+
+    assertThat(second.getFile()).isNotEqualTo(first.getFile());
+    assertThat(first.getFile().getFileName().toString()).startsWith("trace-").endsWith(".bin");
+    // The first trace survives the second run
+    assertThat(report(first.getFile())).contains("Trace: 1 lookups");
+    assertThat(report(second.getFile())).contains("Trace: 0 lookups");
+  }
+
+  private String report(Path file) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    TraceSimulator.read(file)
+        .report(new PrintStream(output, true, StandardCharsets.UTF_8), List.of(), 512);
+    return output.toString(StandardCharsets.UTF_8);
+  }
+}